@@ -0,0 +1,284 @@
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * This class is a self-contained benchmark harness for the polynomial library. Every benchmark is warmed up and then
+ * measured for a fixed time, reporting the average time and the bytes allocated per operation.
+ * Run with: java -cp out PolynomialBenchmark [quick] [filter]
+ * @author Asquator
+ * @version 0.1
+ */
+public class PolynomialBenchmark {
+    private static final int[] EVAL_DEGREES = {1, 10, 100, 1000};
+    private static final int[] MULTIPLY_LENGTHS = {16, 32, 64, 128, 256, 512, 1024, 4096};
+    private static final int[] ROOT_DEGREES = {5, 10, 20};
+    private static final int[] HIGH_ROOT_DEGREES = {100, 1000}; //Only the default and the checked companion backends, an operation takes seconds
+    private static final double[] ERRORS = {1e-3, 1e-6, 1e-9};
+    private static final String[] FAMILIES = {"separated", "clustered", "wilkinson", "chebyshev"};
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static volatile double _sink; //Keeps the results alive, so the JIT doesn't eliminate the benchmarks
+
+    private static long _warmupMillis = 300, _measureMillis = 500;
+    private static String _filter = "";
+
+    /**
+     * Runs the benchmarks
+     * @param args "quick" for shorter runs, then an optional substring of the benchmark names to run
+     */
+    public static void main(String[] args) {
+        int next = 0;
+        if (args.length > next && args[next].equals("quick")) {
+            _warmupMillis = 100;
+            _measureMillis = 150;
+            next++;
+        }
+        if (args.length > next)
+            _filter = args[next];
+
+        System.out.printf("%-60s %14s %14s%n", "Benchmark", "ns/op", "bytes/op");
+        Random random = new Random(42);
+        for (int degree : EVAL_DEGREES) {
+            Polynomial p = randomPolynomial(random, degree), q = randomPolynomial(random, degree);
+            double[] xs = new double[1024], out = new double[1024];
+            for (int i = 0; i < xs.length; i++)
+                xs[i] = -1 + 2.0 * i / xs.length;
+
+            run("calcAt/degree=" + degree, () -> _sink += p.calcAt(0.75));
+            CompiledPolynomial compiled = p.compile();
+            run("compiled/degree=" + degree, () -> _sink += compiled.calcAt(0.75));
+            run("calcAtCertified/degree=" + degree, () -> _sink += p.calcAtCertified(0.75));
+            run("calcAtCompensated/degree=" + degree, () -> _sink += p.calcAtCompensated(0.75));
+            run("calcAtBatch1024/degree=" + degree, () -> {
+                p.calcAt(xs, out);
+                _sink += out[0];
+            });
+            double[] coef = p.getCoef();
+            run("calcAtBatch1024/scalar/degree=" + degree, () -> {
+                BatchEvaluator.SCALAR.calcAt(coef, xs, 0, out, 0, xs.length);
+                _sink += out[0];
+            });
+            if (BatchEvaluator.VECTOR != null) {
+                run("calcAtBatch1024/vector/degree=" + degree, () -> {
+                    BatchEvaluator.VECTOR.calcAt(coef, xs, 0, out, 0, xs.length);
+                    _sink += out[0];
+                });
+            }
+            run("add/degree=" + degree, () -> _sink += p.add(q).getDegree());
+            run("getDerivative/degree=" + degree, () -> _sink += p.getDerivative().getDegree());
+        }
+
+        double[] sparseCoef = new double[1001];
+        sparseCoef[1000] = 1;
+        sparseCoef[500] = -2;
+        sparseCoef[0] = 3;
+        Polynomial sparse = new Polynomial(sparseCoef);
+        CompiledPolynomial sparseCompiled = sparse.compile();
+        run("calcAt/sparse/degree=1000", () -> _sink += sparse.calcAt(0.75));
+        run("compiled/sparse/degree=1000", () -> _sink += sparseCompiled.calcAt(0.75));
+
+        //A lacunary polynomial, x^100000 - 3x^17 + 1, stored sparsely and densely
+        UnivariatePolynomial lacunary = UnivariatePolynomial.of(new int[]{100000, 17, 0}, new double[]{1, -3, 1});
+        Polynomial lacunaryDense = ((SparsePolynomial) lacunary).toDense();
+        UnivariatePolynomial lacunaryTerm = UnivariatePolynomial.of(new int[]{50000}, new double[]{2});
+        run("calcAt/lacunary/sparse", () -> _sink += lacunary.calcAt(0.999));
+        run("calcAt/lacunary/dense", () -> _sink += lacunaryDense.calcAt(0.999));
+        run("getDerivative/lacunary/sparse", () -> _sink += new SparsePolynomial(new int[]{100000, 17, 0},
+                new double[]{1, -3, 1}).getDerivative().getDegree());
+        run("getDerivative/lacunary/dense", () -> _sink += new Polynomial(lacunaryDense).getDerivative().getDegree());
+        run("add/lacunary/sparse", () -> _sink += lacunary.add(lacunaryTerm).getDegree());
+        run("getRoots/lacunary/sparse", () -> _sink += lacunary.getRoots(-1000, 1000, 1e-9).length);
+
+        Polynomial multiple = new Polynomial(-1, 1).pow(8); //Near a multiple root, where the sign needs escalation
+        run("calcAt/multiple", () -> _sink += multiple.calcAt(1.001));
+        run("calcAtCertified/multiple", () -> _sink += multiple.calcAtCertified(1.001));
+
+        for (int length : MULTIPLY_LENGTHS) { //Used to tune the thresholds of Convolution
+            double[] a = randomPolynomial(random, length - 1).getCoef(), b = randomPolynomial(random, length - 1).getCoef();
+            run("multiply/schoolbook/length=" + length, () -> _sink += Convolution.schoolbook(a, b)[0]);
+            run("multiply/karatsuba/length=" + length, () -> _sink += Convolution.karatsuba(a, b)[0]);
+            run("multiply/fft/length=" + length, () -> _sink += Convolution.fft(a, b)[0]);
+        }
+
+        double[] values = new double[1024];
+        for (int i = 0; i < values.length; i++)
+            values[i] = random.nextGaussian() * 100;
+        for (Rounding rounding : Rounding.values()) {
+            for (double error : ERRORS) {
+                run("round/" + rounding + "/error=" + error, () -> {
+                    for (double value : values)
+                        _sink += rounding.round(value, error);
+                });
+            }
+        }
+
+        PolynomialBatch records = new PolynomialBatch();
+        for (int i = 0; i < 1000; i++)
+            records.add(randomPolynomial(random, 8));
+        ByteBuffer binary = ByteBuffer.allocateDirect(1000 * 10 * PolynomialCodec.FIELD_BYTES);
+        String[] lines = new String[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            PolynomialCodec.writeBinary(records, i, binary);
+            lines[i] = records.get(i).toString();
+        }
+        binary.flip();
+        run("codec/readBinary/records=1000", () -> {
+            PolynomialBatch target = new PolynomialBatch(1000, 9000);
+            _sink += PolynomialCodec.readBinary(binary.duplicate(), target);
+        });
+        run("codec/parse/records=1000", () -> {
+            PolynomialBatch target = new PolynomialBatch(1000, 9000);
+            for (String line : lines)
+                _sink += PolynomialCodec.parse(line, target);
+        });
+        run("codec/toString/records=1000", () -> {
+            for (int i = 0; i < records.size(); i++)
+                _sink += records.get(i).toString().length();
+        });
+
+        for (String family : FAMILIES) {
+            for (int degree : ROOT_DEGREES) {
+                Polynomial p = family(family, degree);
+                run("sampleCurve/" + family + "/degree=" + degree + "/pixels=1000",
+                        () -> _sink += new Polynomial(p).sampleCurve(-2, 2, 1000)[0].length);
+                for (double error : ERRORS) {
+                    String suffix = "/" + family + "/degree=" + degree + "/error=" + error;
+                    //A fresh copy per call measures the computation rather than the cached result
+                    run("getRoots" + suffix, () -> _sink += new Polynomial(p).getRoots(-2, 2, error).length);
+                    run("getRoots/wide" + suffix, () -> _sink += new Polynomial(p).getRoots(-1000, 1000, error).length);
+                    run("getRoots/deflation" + suffix,
+                            () -> _sink += p.getRoots(-2, 2, error, RootFinder.DEFLATION).length);
+                    run("getExtremaPoints" + suffix,
+                            () -> _sink += new Polynomial(p).getExtremaPoints(-2, 2, error).length);
+                    run("getInflectionPoints" + suffix,
+                            () -> _sink += new Polynomial(p).getInflectionPoints(-2, 2, error).length);
+                    run("getInflectionPoints/cached" + suffix,
+                            () -> _sink += p.getInflectionPoints(-2, 2, error).length);
+                }
+            }
+        }
+
+        for (String family : FAMILIES) { //Panning a window of width 1 over [-2, 2] in 16 steps
+            for (int degree : ROOT_DEGREES) {
+                Polynomial p = family(family, degree);
+                RootIndex index = p.getRootIndex();
+                String suffix = "/" + family + "/degree=" + degree;
+                run("rootIndex/build" + suffix, () -> _sink += new RootIndex(p).size());
+                run("getRoots/pan16" + suffix, () -> {
+                    for (int i = 0; i < 16; i++)
+                        _sink += new Polynomial(p).getRoots(-2 + 0.2 * i, -1 + 0.2 * i, 1e-6).length;
+                });
+                run("rootIndex/pan16" + suffix, () -> {
+                    for (int i = 0; i < 16; i++)
+                        _sink += index.getRoots(-2 + 0.2 * i, -1 + 0.2 * i, 1e-6).length;
+                });
+            }
+        }
+
+        for (String family : FAMILIES) {
+            for (int degree : HIGH_ROOT_DEGREES) {
+                Polynomial p = family(family, degree);
+                String suffix = "/" + family + "/degree=" + degree;
+                run("getRoots" + suffix + "/error=" + 1e-6, () -> _sink += new Polynomial(p).getRoots(-2, 2, 1e-6).length);
+                run("getRoots/checkedCompanion" + suffix + "/error=" + 1e-6,
+                        () -> _sink += p.getRoots(-2, 2, 1e-6, RootFinder.CHECKED_COMPANION).length);
+                run("rootIndex/build" + suffix, () -> _sink += new RootIndex(p).size());
+            }
+        }
+
+        for (int degree : EVAL_DEGREES) { //An approximant of an oscillating function, out of reach of the monomial basis
+            Interval domain = new Interval(-5, 5);
+            ChebyshevPolynomial approximant = ChebyshevPolynomial.interpolate(x -> Math.cos(20 * x) + x / 3, domain, degree);
+            run("chebyshev/interpolate/degree=" + degree, () -> _sink += ChebyshevPolynomial.interpolate(
+                    x -> Math.cos(20 * x) + x / 3, domain, degree).getDegree());
+            run("chebyshev/calcAt/degree=" + degree, () -> _sink += approximant.calcAt(0.75));
+            run("chebyshev/getRoots/degree=" + degree, () -> _sink += new ChebyshevPolynomial(domain,
+                    approximant.getCoef()).getRoots(-5, 5, 1e-9).length);
+        }
+    }
+
+    //Warms up and measures one benchmark, if its name passes the filter
+    private static void run(String name, Runnable op) {
+        if (!name.contains(_filter))
+            return;
+        measure(op, _warmupMillis);
+        long[] result = measure(op, _measureMillis);
+        System.out.printf("%-60s %14.1f %14.1f%n", name, (double) result[0] / result[2], (double) result[1] / result[2]);
+    }
+
+    //Runs the operation for the given time, returns the elapsed nanoseconds, the allocated bytes and the number of operations
+    private static long[] measure(Runnable op, long millis) {
+        long thread = Thread.currentThread().getId();
+        long ops = 0, batch = 1;
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime(), deadline = start + millis * 1_000_000, now;
+        do {
+            for (long i = 0; i < batch; i++)
+                op.run();
+            ops += batch;
+            batch = Math.min(batch * 2, 1 << 16);
+        } while ((now = System.nanoTime()) < deadline);
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+        return new long[]{now - start, bytes, ops};
+    }
+
+    //A polynomial with standard normal coefficients
+    private static Polynomial randomPolynomial(Random random, int degree) {
+        double[] coef = new double[degree + 1];
+        for (int i = 0; i <= degree; i++)
+            coef[i] = random.nextGaussian();
+        if (coef[degree] == 0)
+            coef[degree] = 1;
+        return new Polynomial(coef);
+    }
+
+    /*
+     * A polynomial of the given root distribution family inside [-2, 2]:
+     * separated - evenly spaced roots, clustered - roots clustered around 0.5, wilkinson - the Wilkinson polynomial
+     * scaled into [-1, 1], chebyshev - the Chebyshev polynomial of the first kind
+     */
+    private static Polynomial family(String family, int degree) {
+        double[] roots = new double[degree];
+        switch (family) {
+            case "separated":
+                for (int i = 0; i < degree; i++)
+                    roots[i] = -1.5 + 3.0 * i / (degree - 1);
+                return fromRoots(roots);
+            case "clustered":
+                for (int i = 0; i < degree; i++)
+                    roots[i] = 0.5 + 1e-2 * i / degree;
+                return fromRoots(roots);
+            case "wilkinson":
+                for (int i = 0; i < degree; i++)
+                    roots[i] = -1 + 2.0 * i / (degree - 1);
+                return fromRoots(roots);
+            default:
+                double[] prev = {1}, cur = {0, 1}; //T0 and T1
+                for (int n = 1; n < degree; n++) { //T(n+1) = 2x T(n) - T(n-1)
+                    double[] next = new double[n + 2];
+                    for (int i = 0; i <= n; i++)
+                        next[i + 1] = 2 * cur[i];
+                    for (int i = 0; i < prev.length; i++)
+                        next[i] -= prev[i];
+                    prev = cur;
+                    cur = next;
+                }
+                return new Polynomial(cur);
+        }
+    }
+
+    //The monic polynomial with the given roots
+    private static Polynomial fromRoots(double... roots) {
+        double[] coef = {1};
+        for (double root : roots) {
+            double[] next = new double[coef.length + 1];
+            for (int i = 0; i < coef.length; i++) {
+                next[i + 1] += coef[i];
+                next[i] -= root * coef[i];
+            }
+            coef = next;
+        }
+        return new Polynomial(coef);
+    }
+}
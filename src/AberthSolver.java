@@ -0,0 +1,180 @@
+import java.util.stream.IntStream;
+
+/**
+ * This class computes all complex roots of a polynomial simultaneously with the Aberth-Ehrlich iteration.
+ * Every step updates all the approximations from the previous ones (Jacobi style), so the updates of different
+ * roots are independent and may run in parallel.
+ * @author Asquator
+ * @version 0.1
+ */
+public class AberthSolver {
+    /**Default maximal number of iterations*/
+    public static final int DEFAULT_MAX_ITERATIONS = 500;
+    private static final int PARALLEL_MIN_DEGREE = 128; //Minimal degree to parallelize the steps at
+    private static final double TOLERANCE = 4 * Math.ulp(1.0); //Relative size of a correction considered as convergence
+    private final int _maxIterations;
+    private final boolean _parallel;
+
+    /**
+     * Constructs a solver with the default maximal number of iterations, that parallelizes the steps for high degrees
+     */
+    public AberthSolver() {
+        this(DEFAULT_MAX_ITERATIONS, true);
+    }
+
+    /**
+     * Constructs a solver
+     * @param maxIterations the maximal number of iterations
+     * @param parallel true to update the roots in parallel for high degrees
+     */
+    public AberthSolver(int maxIterations, boolean parallel) {
+        if (maxIterations <= 0)
+            throw new IllegalArgumentException("The maximal number of iterations must be positive");
+        _maxIterations = maxIterations;
+        _parallel = parallel;
+    }
+
+    /**
+     * Computes all roots of a polynomial which is not the zero polynomial
+     * @param polynomial the polynomial to solve
+     * @return the roots, repeated according to their multiplicities
+     */
+    public RootSet solve(Polynomial polynomial) {
+        if (polynomial.isZero())
+            throw new IllegalArgumentException("The zero polynomial has infinitely many roots");
+
+        double[] coef = polynomial.coefficients();
+        int zeroRoots = 0;
+        while (coef[zeroRoots] == 0) //Factoring out the roots at zero
+            zeroRoots++;
+        int n = coef.length - 1 - zeroRoots;
+
+        Complex[] roots = new Complex[coef.length - 1];
+        for (int i = 0; i < zeroRoots; i++)
+            roots[i] = Complex.ZERO;
+        if (n == 1)
+            roots[zeroRoots] = new Complex(-coef[zeroRoots] / coef[zeroRoots + 1], 0);
+        else if (n > 1) {
+            double[] reduced = new double[n + 1];
+            for (int i = 0; i <= n; i++)
+                reduced[i] = coef[i + zeroRoots];
+            double[][] z = iterate(reduced);
+            for (int i = 0; i < n; i++)
+                roots[zeroRoots + i] = new Complex(z[0][i], z[1][i]);
+        }
+        return new RootSet(polynomial, roots);
+    }
+
+    /*
+     * Runs the iteration on a polynomial of degree n > 1 with nonzero free coefficient
+     * Returns the real parts and the imaginary parts of the approximations
+     */
+    private double[][] iterate(double[] coef) {
+        int n = coef.length - 1;
+        double[] re = new double[n], im = new double[n], newRe = new double[n], newIm = new double[n];
+        boolean[] converged = new boolean[n];
+        initialGuesses(coef, re, im);
+
+        for (int iteration = 0; iteration < _maxIterations; iteration++) {
+            double[] curRe = re, curIm = im, nextRe = newRe, nextIm = newIm;
+            IntStream indices = IntStream.range(0, n);
+            if (_parallel && n >= PARALLEL_MIN_DEGREE)
+                indices = indices.parallel();
+            indices.forEach(i -> step(coef, curRe, curIm, nextRe, nextIm, converged, i));
+
+            newRe = re;
+            newIm = im;
+            re = nextRe;
+            im = nextIm;
+
+            boolean done = true;
+            for (int i = 0; i < n && done; i++)
+                done = converged[i];
+            if (done)
+                break;
+        }
+        return new double[][]{re, im};
+    }
+
+    /*
+     * Computes the next approximation of the i-th root from the current approximations
+     */
+    private static void step(double[] coef, double[] re, double[] im, double[] newRe, double[] newIm, boolean[] converged, int i) {
+        double zr = re[i], zi = im[i];
+        if (converged[i]) {
+            newRe[i] = zr;
+            newIm[i] = zi;
+            return;
+        }
+
+        //Value and derivative of the polynomial at z with Horner's scheme
+        double pr = 0, pi = 0, dr = 0, di = 0;
+        for (int k = coef.length - 1; k >= 0; k--) {
+            double t = dr * zr - di * zi + pr;
+            di = dr * zi + di * zr + pi;
+            dr = t;
+            t = pr * zr - pi * zi + coef[k];
+            pi = pr * zi + pi * zr;
+            pr = t;
+        }
+        if (pr == 0 && pi == 0) { //z is an exact root
+            newRe[i] = zr;
+            newIm[i] = zi;
+            converged[i] = true;
+            return;
+        }
+
+        //Newton's correction p/p'
+        double den = dr * dr + di * di;
+        double nr = (pr * dr + pi * di) / den, ni = (pi * dr - pr * di) / den;
+
+        //The sum of 1/(z - z_j) over the other roots
+        double sr = 0, si = 0;
+        for (int j = 0; j < re.length; j++) {
+            if (j != i) {
+                double ur = zr - re[j], ui = zi - im[j];
+                double uAbs = ur * ur + ui * ui;
+                sr += ur / uAbs;
+                si -= ui / uAbs;
+            }
+        }
+
+        //Aberth's correction w = N / (1 - N * S)
+        double qr = 1 - (nr * sr - ni * si), qi = -(nr * si + ni * sr);
+        double qAbs = qr * qr + qi * qi;
+        double wr = (nr * qr + ni * qi) / qAbs, wi = (ni * qr - nr * qi) / qAbs;
+        if (Double.isNaN(wr) || Double.isNaN(wi) || den == 0) { //Falling back to a plain Newton step
+            wr = nr;
+            wi = ni;
+        }
+        if (Double.isNaN(wr) || Double.isNaN(wi)) {
+            wr = 0;
+            wi = 0;
+        }
+
+        newRe[i] = zr - wr;
+        newIm[i] = zi - wi;
+        converged[i] = Math.hypot(wr, wi) <= TOLERANCE * Math.hypot(newRe[i], newIm[i]);
+    }
+
+    /*
+     * Places the initial approximations on a circle around the centroid of the roots,
+     * with a radius estimated from the value of the polynomial at the centroid
+     */
+    private static void initialGuesses(double[] coef, double[] re, double[] im) {
+        int n = coef.length - 1;
+        double center = -coef[n - 1] / (n * coef[n]);
+        double val = 0;
+        for (int k = n; k >= 0; k--)
+            val = val * center + coef[k];
+        double radius = Math.pow(Math.abs(val / coef[n]), 1.0 / n);
+        if (!(radius > 0) || Double.isInfinite(radius))
+            radius = 1;
+
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n + 0.4; //The offset breaks the symmetry with respect to the real axis
+            re[i] = center + radius * Math.cos(angle);
+            im[i] = radius * Math.sin(angle);
+        }
+    }
+}
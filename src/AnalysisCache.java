@@ -0,0 +1,212 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a bounded cache of analysis results (roots, extrema and inflection points), shared by all
+ * polynomials with equal coefficients. The entries are spread over independently locked stripes, each evicting its
+ * least recently used entry when full. Install it with {@link Polynomial#setSharedCache(AnalysisCache)}.
+ * @author Asquator
+ * @version 0.1
+ */
+public class AnalysisCache {
+    /**Default number of stripes*/
+    public static final int DEFAULT_STRIPES = 16;
+    private final Stripe[] _stripes;
+    private final LongAdder _hits = new LongAdder();
+    private final LongAdder _misses = new LongAdder();
+    private final LongAdder _evictions = new LongAdder();
+
+    /**
+     * Constructs a cache of the given capacity with the default number of stripes
+     * @param capacity the maximal number of cached results
+     */
+    public AnalysisCache(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a cache of the given capacity, divided evenly between the given number of stripes
+     * @param capacity the maximal number of cached results
+     * @param stripes the number of independently locked parts of the cache
+     * @throws IllegalArgumentException if the capacity or the number of stripes is not positive
+     */
+    public AnalysisCache(int capacity, int stripes) {
+        if (capacity <= 0 || stripes <= 0)
+            throw new IllegalArgumentException("The capacity and the number of stripes must be positive");
+        stripes = Math.min(stripes, capacity);
+        _stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) //The first stripes take the rest of the division
+            _stripes[i] = new Stripe(capacity / stripes + (i < capacity % stripes ? 1 : 0));
+    }
+
+    /*
+     * Returns the cached result for the key, computing and caching it on a miss. The result is computed outside of
+     * the lock, so concurrent misses on the same key may compute it more than once.
+     */
+    Object get(double[] coefficients, Rounding rounding, int kind, double min, double max, double error,
+               Supplier<Object> loader) {
+        Key key = new Key(coefficients, rounding, kind, min, max, error);
+        int spread = key._hash * 0x9E3779B9; //Mixes the high bits of the hash into the low ones
+        Stripe stripe = _stripes[Math.floorMod(spread ^ (spread >>> 16), _stripes.length)];
+        Object result;
+        synchronized (stripe) {
+            result = stripe.get(key);
+        }
+        if (result != null) {
+            _hits.increment();
+            return result;
+        }
+
+        _misses.increment();
+        result = loader.get();
+        synchronized (stripe) {
+            stripe.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of queries answered from the cache
+     * @return the number of hits
+     */
+    public long getHits() {
+        return _hits.sum();
+    }
+
+    /**
+     * Returns the number of queries that had to be computed
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return _misses.sum();
+    }
+
+    /**
+     * Returns the number of results evicted to make room for newer ones
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return _evictions.sum();
+    }
+
+    /**
+     * Returns the number of cached results
+     * @return the number of cached results
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : _stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached results. The counters are kept.
+     */
+    public void clear() {
+        for (Stripe stripe : _stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /*
+     * A part of the cache: a map in access order, which evicts its least recently used entry when full.
+     * Guarded by its own lock.
+     */
+    private final class Stripe {
+        private final LinkedHashMap<Key, Object> _entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int _capacity;
+
+        Stripe(int capacity) {
+            _capacity = capacity;
+        }
+
+        //Returns the cached result for the key and marks it as the most recently used, or null if it's not cached
+        Object get(Key key) {
+            return _entries.get(key);
+        }
+
+        //Caches a result, evicting the least recently used one if the stripe is full
+        void put(Key key, Object result) {
+            _entries.put(key, result);
+            if (_entries.size() > _capacity) {
+                Iterator<Object> eldest = _entries.values().iterator();
+                eldest.next();
+                eldest.remove();
+                _evictions.increment();
+            }
+        }
+
+        int size() {
+            return _entries.size();
+        }
+
+        void clear() {
+            _entries.clear();
+        }
+    }
+
+    /*
+     * The key of a result: the canonical coefficients, the rounding, the kind of the result and the interval and the
+     * accuracy
+     */
+    private static final class Key {
+        private final double[] _coefficients;
+        private final Rounding _rounding;
+        private final int _kind;
+        private final double _min, _max, _error;
+        private final int _hash;
+
+        Key(double[] coefficients, Rounding rounding, int kind, double min, double max, double error) {
+            _coefficients = canonical(coefficients);
+            _rounding = rounding;
+            _kind = kind;
+            _min = min;
+            _max = max;
+            _error = error;
+            int hash = Arrays.hashCode(_coefficients);
+            hash = 31 * hash + rounding.ordinal();
+            hash = 31 * hash + kind;
+            hash = 31 * hash + Double.hashCode(min);
+            hash = 31 * hash + Double.hashCode(max);
+            _hash = 31 * hash + Double.hashCode(error);
+        }
+
+        //Replaces negative zeroes, which equal positive ones as coefficients but not as keys
+        private static double[] canonical(double[] coefficients) {
+            double[] result = coefficients;
+            for (int i = 0; i < coefficients.length; i++) {
+                if (coefficients[i] == 0 && Double.doubleToRawLongBits(coefficients[i]) != 0) {
+                    if (result == coefficients)
+                        result = coefficients.clone();
+                    result[i] = 0;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            return _hash == other._hash && _rounding == other._rounding && _kind == other._kind
+                    && Double.compare(_min, other._min) == 0 && Double.compare(_max, other._max) == 0
+                    && Double.compare(_error, other._error) == 0
+                    && Arrays.equals(_coefficients, other._coefficients);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hash;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * This class represents the analytical information about a polynomial on an interval: its roots, extrema points and
+ * inflection points
+ * @author Asquator
+ * @version 0.1
+ */
+public class AnalysisResult {
+    private final long _index;
+    private final Polynomial _polynomial;
+    private final double[] _roots;
+    private final Point[] _extremaPoints;
+    private final Point[] _inflectionPoints;
+
+    /**
+     * Constructs an analysis result
+     * @param index the index of the polynomial in its input
+     * @param polynomial the polynomial analyzed
+     * @param roots the roots
+     * @param extremaPoints the extrema points
+     * @param inflectionPoints the inflection points
+     */
+    public AnalysisResult(long index, Polynomial polynomial, double[] roots, Point[] extremaPoints, Point[] inflectionPoints) {
+        _index = index;
+        _polynomial = polynomial;
+        _roots = roots;
+        _extremaPoints = extremaPoints;
+        _inflectionPoints = inflectionPoints;
+    }
+
+    /**
+     * Returns the index of the polynomial in its input
+     * @return the index of the polynomial
+     */
+    public long getIndex() {
+        return _index;
+    }
+
+    /**
+     * Returns the polynomial analyzed
+     * @return the polynomial
+     */
+    public Polynomial getPolynomial() {
+        return _polynomial;
+    }
+
+    /**
+     * Returns the roots of the polynomial
+     * @return the roots
+     */
+    public double[] getRoots() {
+        return _roots;
+    }
+
+    /**
+     * Returns the extrema points of the polynomial
+     * @return the extrema points
+     */
+    public Point[] getExtremaPoints() {
+        return _extremaPoints;
+    }
+
+    /**
+     * Returns the inflection points of the polynomial
+     * @return the inflection points
+     */
+    public Point[] getInflectionPoints() {
+        return _inflectionPoints;
+    }
+
+    /**
+     * Returns string representation of the result
+     * @return string representation of the result
+     */
+    public String toString() {
+        StringBuilder info = new StringBuilder();
+        info.append('#').append(_index).append(": ").append(_polynomial).append('\n');
+        info.append("Roots: \n");
+        for (double root : _roots)
+            info.append("Root: ").append(root).append('\n');
+        info.append("Extrema Points: \n");
+        for (Point point : _extremaPoints)
+            info.append(point).append('\n');
+        info.append("Inflection Points: \n");
+        for (Point point : _inflectionPoints)
+            info.append(point).append('\n');
+        return info.toString();
+    }
+}
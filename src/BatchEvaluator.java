@@ -0,0 +1,46 @@
+/**
+ * This interface represents an engine that evaluates a polynomial in many points at once
+ * @author Asquator
+ * @version 0.1
+ */
+public interface BatchEvaluator {
+    /**The system property that enables the Vector API based evaluator as the default, "true" to enable*/
+    String VECTOR_PROPERTY = "polynomials.vector";
+    /**The scalar evaluator, which never allocates memory*/
+    BatchEvaluator SCALAR = new ScalarBatchEvaluator();
+    /**The Vector API based evaluator, null if the jdk.incubator.vector module is absent or the hardware has no SIMD lanes*/
+    BatchEvaluator VECTOR = loadVector();
+    /**
+     * The evaluator used by {@link Polynomial#calcAt(double[], double[])}: the scalar one, unless the vector one is
+     * enabled with the system property {@link #VECTOR_PROPERTY} and available. The vector one is opt-in because the
+     * incubating Vector API may box its vectors and run slower than the scalar loop, compare the calcAtBatch1024 rows of
+     * the benchmark on the target JVM before enabling it.
+     */
+    BatchEvaluator DEFAULT = Boolean.getBoolean(VECTOR_PROPERTY) && VECTOR != null ? VECTOR : SCALAR;
+
+    /**
+     * Calculates the values of a polynomial in a range of points
+     * @param coef the coefficients of the polynomial, from the free coefficient up
+     * @param xs the points to calculate in
+     * @param xsOffset the index of the first point in xs
+     * @param out an array to write the values to
+     * @param outOffset the index in out to write the first value to
+     * @param length the number of points to calculate
+     */
+    void calcAt(double[] coef, double[] xs, int xsOffset, double[] out, int outOffset, int length);
+
+    /*
+     * Loads the Vector API based evaluator if the jdk.incubator.vector module is present and the hardware has SIMD lanes,
+     * returns null otherwise. The evaluator is loaded by name, so this interface doesn't link against the module.
+     */
+    private static BatchEvaluator loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BatchEvaluator) Class.forName("VectorBatchEvaluator").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+                //The vector evaluator is unavailable
+            }
+        }
+        return null;
+    }
+}
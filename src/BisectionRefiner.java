@@ -0,0 +1,34 @@
+/**
+ * This class approximates roots by bisection. It converges linearly, gaining one bit per evaluation.
+ * @author Asquator
+ * @version 0.1
+ */
+public class BisectionRefiner implements RootRefiner {
+
+    /**
+     * Approximates a root in an interval with opposite signs of the polynomial in the endpoints
+     * @param polynomial the polynomial to approximate the root of
+     * @param a the a endpoint
+     * @param b the b endpoint
+     * @param valA the value of the polynomial at a
+     * @param valB the value of the polynomial at b, of the opposite sign to valA
+     * @param error the desired accuracy
+     * @return the root approximation
+     */
+    public double refine(Polynomial polynomial, double a, double b, double valA, double valB, double error) {
+        double midPoint = (a + b) / 2, valMid;
+        while (Math.abs(b - a) >= error && midPoint > a && midPoint < b) {
+            valMid = polynomial.calcAtCertified(midPoint);
+            if (valMid == 0)
+                return midPoint;
+            if (valA * valMid < 0) //Opposite signs at a and middle points
+                b = midPoint;
+            else { //Opposite signs at middle and b points
+                a = midPoint;
+                valA = valMid;
+            }
+            midPoint = (a + b) / 2;
+        }
+        return midPoint;
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * This class approximates roots by Brent's method, which combines inverse quadratic interpolation and secant steps
+ * with bisection, converging superlinearly while never losing the bracket.
+ * @author Asquator
+ * @version 0.1
+ */
+public class BrentRefiner implements RootRefiner {
+
+    /**
+     * Approximates a root in an interval with opposite signs of the polynomial in the endpoints
+     * @param polynomial the polynomial to approximate the root of
+     * @param a the a endpoint
+     * @param b the b endpoint
+     * @param valA the value of the polynomial at a
+     * @param valB the value of the polynomial at b, of the opposite sign to valA
+     * @param error the desired accuracy
+     * @return the root approximation
+     */
+    public double refine(Polynomial polynomial, double a, double b, double valA, double valB, double error) {
+        double c = a, valC = valA; //b is the best approximation, the root is between b and c
+        double d = b - a, e = d; //The last and the previous step
+        while (true) {
+            if (Math.abs(valC) < Math.abs(valB)) { //Keeping b the best approximation
+                a = b; b = c; c = a;
+                valA = valB; valB = valC; valC = valA;
+            }
+            double tol = 2 * Math.ulp(b) + error / 2;
+            double middle = (c - b) / 2;
+            if (Math.abs(middle) <= tol || valB == 0)
+                return b;
+
+            if (Math.abs(e) >= tol && Math.abs(valA) > Math.abs(valB)) { //Trying interpolation
+                double p, q, s = valB / valA;
+                if (a == c) { //Secant step
+                    p = 2 * middle * s;
+                    q = 1 - s;
+                } else { //Inverse quadratic interpolation
+                    double r = valB / valC, t = valA / valC;
+                    p = s * (2 * middle * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0)
+                    q = -q;
+                else
+                    p = -p;
+                if (2 * p < Math.min(3 * middle * q - Math.abs(tol * q), Math.abs(e * q))) { //Accepting the interpolation
+                    e = d;
+                    d = p / q;
+                } else { //Falling back to bisection
+                    d = middle;
+                    e = d;
+                }
+            } else { //Bisection
+                d = middle;
+                e = d;
+            }
+
+            a = b;
+            valA = valB;
+            b += Math.abs(d) > tol ? d : Math.copySign(tol, middle);
+            valB = polynomial.calcAtCertified(b);
+            if ((valB > 0) == (valC > 0) && valB != 0) { //Keeping the root between b and c
+                c = a;
+                valC = valA;
+                d = b - a;
+                e = d;
+            }
+        }
+    }
+}
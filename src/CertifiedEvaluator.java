@@ -0,0 +1,137 @@
+import java.math.BigInteger;
+
+/**
+ * This class evaluates polynomials with a certified sign, for the sign decisions of root finding near clustered and
+ * multiple roots, where the sign of a plain evaluation is rounding noise. Horner's scheme runs with a running bound on
+ * its rounding error (Higham, Accuracy and Stability of Numerical Algorithms, 5.1), and its value is kept if it exceeds
+ * the bound. Otherwise the point is evaluated again with the compensated Horner scheme (Graillat, Langlois and Louvet),
+ * which is as accurate as Horner's scheme in twice the working precision, and as a last resort exactly in decimal.
+ * Almost all points are away from the roots and take the first path only.
+ * @author Asquator
+ * @version 0.1
+ */
+public class CertifiedEvaluator {
+    private static final double UNIT_ROUNDOFF = 0x1p-53;
+
+    private CertifiedEvaluator() {
+    }
+
+    /**
+     * Calculates the value of a polynomial in x with a certified sign: the result is zero exactly at the roots, and
+     * otherwise has the sign of the exact value
+     * @param coef the coefficients of the polynomial, from the free coefficient up
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x, with the sign of the exact value
+     */
+    public static double calcAt(double[] coef, double x) {
+        int n = coef.length - 1;
+        double val = 0, runningBound = 0, absX = Math.abs(x);
+        for (int i = n; i >= 0; i--) { //The values match Polynomial.calcAt
+            val = val * x + coef[i];
+            runningBound = runningBound * absX + Math.abs(val);
+        }
+        double bound = hornerBound(val, runningBound, n);
+        if (Math.abs(val) > bound || !Double.isFinite(bound))
+            return val;
+
+        val = compensated(coef, x);
+        double absSum = 0; //The sum of |c_i| |x|^i
+        for (int i = n; i >= 0; i--)
+            absSum = absSum * absX + Math.abs(coef[i]);
+        double gamma = 2 * n * UNIT_ROUNDOFF / (1 - 2 * n * UNIT_ROUNDOFF);
+        bound = (UNIT_ROUNDOFF * Math.abs(val) + gamma * gamma * absSum) * (1 + 4 * UNIT_ROUNDOFF) + Double.MIN_NORMAL;
+        if (Math.abs(val) > bound)
+            return val;
+
+        return exact(coef, x);
+    }
+
+    /*
+     * Returns the bound of Higham's algorithm on the rounding error of Horner's scheme of degree n, given its value and
+     * the running bound, the sum of the magnitudes of the partial values. Enlarged to cover its second-order terms and
+     * underflow.
+     */
+    static double hornerBound(double val, double runningBound, int n) {
+        return (2 * runningBound - Math.abs(val)) * UNIT_ROUNDOFF * (1 + 4 * (n + 1) * UNIT_ROUNDOFF) + Double.MIN_NORMAL;
+    }
+
+    /**
+     * Calculates the value of a polynomial in x with the compensated Horner scheme. The rounding errors of every product
+     * and sum are computed exactly with fused multiply-add and TwoSum and evaluated by a second Horner scheme, so the
+     * result is as accurate as Horner's scheme in twice the working precision, then rounded.
+     * @param coef the coefficients of the polynomial, from the free coefficient up
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    public static double compensated(double[] coef, double x) {
+        double val = coef[coef.length - 1], correction = 0;
+        for (int i = coef.length - 2; i >= 0; i--) {
+            double product = val * x;
+            double productError = Math.fma(val, x, -product); //TwoProduct
+            double sum = product + coef[i];
+            double z = sum - product;
+            double sumError = (product - (sum - z)) + (coef[i] - z); //TwoSum
+            correction = correction * x + (productError + sumError);
+            val = sum;
+        }
+        return val + correction;
+    }
+
+    /*
+     * Calculates the value of a polynomial in x exactly, then rounds it, keeping the sign of values that underflow.
+     * Horner's scheme is exact if none of its operations rounds, as at small binary fractions, which is checked first;
+     * otherwise the value is calculated as an integer times a power of 2.
+     */
+    private static double exact(double[] coef, double x) {
+        double horner = coef[coef.length - 1];
+        int last = coef.length - 2;
+        for (; last >= 0; last--) { //The errors of the operations, like in the compensated scheme
+            double product = horner * x, sum = product + coef[last], z = sum - product;
+            if (Math.fma(horner, x, -product) != 0 || (product - (sum - z)) + (coef[last] - z) != 0)
+                break;
+            if (Math.abs(product) < Double.MIN_NORMAL && horner != 0 && x != 0) //The error of the product may underflow
+                break;
+            horner = sum;
+        }
+        if (last < 0)
+            return horner;
+
+        BigInteger point = BigInteger.valueOf(significand(x)), val = BigInteger.ZERO;
+        int pointExponent = exponent(x), valExponent = 0; //The value is val 2^valExponent
+        for (int i = coef.length - 1; i >= 0; i--) {
+            val = val.multiply(point);
+            valExponent += pointExponent;
+            BigInteger term = BigInteger.valueOf(significand(coef[i]));
+            int termExponent = exponent(coef[i]);
+            if (val.signum() == 0) {
+                val = term;
+                valExponent = termExponent;
+            } else if (termExponent >= valExponent) {
+                val = val.add(term.shiftLeft(termExponent - valExponent));
+            } else {
+                val = val.shiftLeft(valExponent - termExponent).add(term);
+                valExponent = termExponent;
+            }
+        }
+        if (val.signum() == 0)
+            return 0;
+
+        BigInteger magnitude = val.abs();
+        int shift = Math.max(magnitude.bitLength() - 63, 0);
+        long top = magnitude.shiftRight(shift).longValueExact();
+        if (magnitude.getLowestSetBit() < shift) //A sticky bit below the rounding position, for correct rounding
+            top |= 1;
+        double rounded = Math.scalb((double) top, valExponent + shift);
+        return Math.copySign(rounded == 0 ? Double.MIN_VALUE : rounded, val.signum());
+    }
+
+    //Returns the integer significand of a finite double, which is the double times 2^(-exponent)
+    private static long significand(double d) {
+        return (long) Math.scalb(d, -exponent(d));
+    }
+
+    //Returns the exponent of the last bit of the significand of a finite double
+    private static int exponent(double d) {
+        return Math.max(Math.getExponent(d), Double.MIN_EXPONENT) - 52;
+    }
+}
@@ -0,0 +1,319 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * This class represents a polynomial in the Chebyshev basis over an interval [a, b], p(x) = sum of c_k T_k(t), where
+ * t = (2x - a - b) / (b - a) maps the interval onto [-1, 1]. Unlike the monomial basis, the Chebyshev basis is well
+ * conditioned on its interval, so approximants of high degree are evaluated and solved there stably.
+ * <p>
+ * The coefficients are computed from the values at the Chebyshev points cos(pi k / N) by the discrete cosine transform,
+ * performed with the fast Fourier transform of {@link Convolution} in O(N log N). Values are computed with Clenshaw's
+ * recurrence. The roots are found by subdividing the interval until the degree of every piece, after dropping the
+ * negligible coefficients, is small, and computing the eigenvalues of the colleague matrix of every piece with
+ * {@link HessenbergQR}.
+ * <p>
+ * Instances are immutable.
+ * @author Asquator
+ * @version 0.1
+ */
+public class ChebyshevPolynomial {
+    private static final int COLLEAGUE_MAX_DEGREE = 50; //Maximal degree of the pieces solved by the colleague matrix
+    private static final double SPLIT_POINT = -0.004849834917525; //Splits the pieces a bit off the middle, a likely root
+    private static final double PIECE_MARGIN = 1e-8; //Eigenvalues this far off a piece still belong to it
+    private static final double CHOP_TOLERANCE = 0x1p-50; //Coefficients below it relative to the scale are dropped
+    private static final int POLISH_STEPS = 3; //Newton's steps to polish every real root with
+    private final double[] _coefficients; //c_0, ..., c_n, without a tail of zeroes
+    private final double _a, _b;
+    private volatile ChebyshevPolynomial _derivative;
+
+    /**
+     * Constructs a polynomial in the Chebyshev basis
+     * @param domain the interval [a, b] the basis is mapped to
+     * @param coef the coefficients of T_0, T_1, ...
+     * @throws IllegalArgumentException if the interval is empty or no coefficients are given
+     */
+    public ChebyshevPolynomial(Interval domain, double... coef) {
+        this(domain.getA(), domain.getB(), coef.clone());
+    }
+
+    //Constructs a polynomial from coefficients owned by it
+    private ChebyshevPolynomial(double a, double b, double[] coef) {
+        if (!(a < b) || coef.length == 0)
+            throw new IllegalArgumentException("A Chebyshev series needs coefficients and an interval a < b");
+        int length = coef.length;
+        while (length > 1 && coef[length - 1] == 0)
+            length--;
+        _coefficients = length == coef.length ? coef : Arrays.copyOf(coef, length);
+        _a = a;
+        _b = b;
+    }
+
+    /**
+     * Interpolates a function at the Chebyshev points of an interval
+     * @param function the function to interpolate
+     * @param domain the interval to interpolate over
+     * @param degree the degree of the interpolant, rounded up to a power of 2
+     * @return the interpolant in the Chebyshev basis
+     */
+    public static ChebyshevPolynomial interpolate(DoubleUnaryOperator function, Interval domain, int degree) {
+        double[] points = points(transformSize(degree), domain.getA(), domain.getB());
+        for (int i = 0; i < points.length; i++)
+            points[i] = function.applyAsDouble(points[i]);
+        return new ChebyshevPolynomial(domain.getA(), domain.getB(), transform(points));
+    }
+
+    /**
+     * Converts a polynomial to the Chebyshev basis over an interval, by evaluating it at the Chebyshev points with the
+     * batch evaluator and transforming the values. The zero polynomial gives the zero series.
+     * @param polynomial the polynomial to convert
+     * @param domain the interval the basis is mapped to
+     * @return the polynomial in the Chebyshev basis
+     */
+    public static ChebyshevPolynomial fromPolynomial(Polynomial polynomial, Interval domain) {
+        int degree = polynomial.getDegree();
+        double[] points = points(transformSize(degree), domain.getA(), domain.getB());
+        double[] values = new double[points.length];
+        polynomial.calcAt(points, values);
+        int length = Math.max(degree, 0) + 1; //The zero polynomial, of degree -1, is the series {0}
+        return new ChebyshevPolynomial(domain.getA(), domain.getB(), Arrays.copyOf(transform(values), length));
+    }
+
+    /**
+     * Converts the polynomial to the monomial basis. The conversion takes O(n^2) operations, and the monomial
+     * coefficients of high degrees are ill-conditioned.
+     * @return the polynomial in the monomial basis
+     */
+    public Polynomial toPolynomial() {
+        //Clenshaw's recurrence on polynomials in t: b_k = c_k + 2t b_(k+1) - b_(k+2), p = c_0 + t b_1 - b_2
+        int n = getDegree();
+        double[] b1 = new double[n + 1], b2 = new double[n + 1], next = new double[n + 1];
+        for (int k = n; k >= 1; k--) {
+            for (int i = n; i >= 1; i--)
+                next[i] = 2 * b1[i - 1] - b2[i];
+            next[0] = _coefficients[k] - b2[0];
+            double[] temp = b2;
+            b2 = b1;
+            b1 = next;
+            next = temp;
+        }
+        for (int i = n; i >= 1; i--)
+            next[i] = b1[i - 1] - b2[i];
+        next[0] = _coefficients[0] - b2[0];
+        Polynomial inner = new Polynomial(-(_a + _b) / (_b - _a), 2 / (_b - _a)); //t as a polynomial in x
+        return new Polynomial(next).compose(inner);
+    }
+
+    /**
+     * Returns the interval the basis is mapped to
+     * @return the interval [a, b]
+     */
+    public Interval getDomain() {
+        return new Interval(_a, _b);
+    }
+
+    /**
+     * Returns the degree of the polynomial
+     * @return the degree of the polynomial
+     */
+    public int getDegree() {
+        return _coefficients.length - 1;
+    }
+
+    /**
+     * Returns the coefficients of the polynomial
+     * @return a copy of the coefficients of T_0, T_1, ...
+     */
+    public double[] getCoef() {
+        return _coefficients.clone();
+    }
+
+    /**
+     * Calculates the value of the polynomial in x using Clenshaw's recurrence
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    public double calcAt(double x) {
+        return clenshaw(_coefficients, _coefficients.length - 1, (2 * x - _a - _b) / (_b - _a));
+    }
+
+    /**
+     * Returns the derivative of the polynomial in the Chebyshev basis over the same interval. The derivative is
+     * computed once and reused.
+     * @return the derivative
+     */
+    public ChebyshevPolynomial getDerivative() {
+        ChebyshevPolynomial derivative = _derivative;
+        if (derivative == null) //A race computes equal derivatives, any of them can be kept
+            _derivative = derivative = computeDerivative();
+        return derivative;
+    }
+
+    //Calculates the derivative with the recurrence d_k = d_(k+2) + 2(k+1) c_(k+1), halving d_0
+    private ChebyshevPolynomial computeDerivative() {
+        int n = getDegree();
+        if (n == 0)
+            return new ChebyshevPolynomial(_a, _b, new double[]{0});
+        double scale = 2 / (_b - _a); //dt/dx
+        double[] derivative = new double[n + 1]; //One spare zero for d_(k+2)
+        for (int k = n - 1; k >= 0; k--)
+            derivative[k] = (k + 2 <= n ? derivative[k + 2] : 0) + 2 * (k + 1) * _coefficients[k + 1];
+        derivative[0] /= 2;
+        for (int k = 0; k < n; k++)
+            derivative[k] *= scale;
+        return new ChebyshevPolynomial(_a, _b, Arrays.copyOf(derivative, n));
+    }
+
+    /**
+     * Finds all distinct real roots of the polynomial in the closed interval [min, max], clipped to the domain
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    public double[] getRoots(double min, double max, double error) {
+        Interval interval = new Interval(Math.max(min, _a), Math.min(max, _b));
+        if (getDegree() == 0 || !interval.isValid())
+            return new double[0];
+        double scale = 0;
+        for (double c : _coefficients)
+            scale += Math.abs(c);
+
+        List<Complex> roots = new ArrayList<>();
+        subdivide(_coefficients, -1, 1, scale * CHOP_TOLERANCE, roots);
+        for (int i = 0; i < roots.size(); i++)
+            if (roots.get(i).getIm() == 0)
+                roots.set(i, new Complex(polish(roots.get(i).getRe()), 0));
+        return new RootSet(roots.toArray(new Complex[0])).getRealRoots(interval, error, Rounding.DEFAULT);
+    }
+
+    /*
+     * Finds the roots of a piece [lo, hi] of [-1, 1], given by its coefficients in its own variable mapped onto
+     * [-1, 1]. Pieces of high degree are split in two and interpolated anew, which lowers the degree of smooth
+     * pieces quickly.
+     */
+    private void subdivide(double[] coef, double lo, double hi, double tolerance, List<Complex> roots) {
+        int degree = coef.length - 1;
+        while (degree > 0 && Math.abs(coef[degree]) <= tolerance)
+            degree--;
+        if (degree == 0) //A constant piece, either without roots or negligible everywhere
+            return;
+
+        double middle = (lo + hi) / 2, radius = (hi - lo) / 2;
+        if (degree > COLLEAGUE_MAX_DEGREE) {
+            double split = middle + radius * SPLIT_POINT;
+            subdivide(restrict(coef, degree, -1, SPLIT_POINT), lo, split, tolerance, roots);
+            subdivide(restrict(coef, degree, SPLIT_POINT, 1), split, hi, tolerance, roots);
+            return;
+        }
+
+        double[][] eigenvalues = HessenbergQR.eigenvalues(colleague(coef, degree));
+        double xRadius = (_b - _a) / 2, xMiddle = (_a + _b) / 2;
+        for (int i = 0; i < degree; i++) {
+            double re = eigenvalues[0][i], im = eigenvalues[1][i];
+            if (Math.abs(re) <= 1 + PIECE_MARGIN && Math.abs(im) <= 1) //Far eigenvalues are artifacts of the chopping
+                roots.add(new Complex(xMiddle + xRadius * (middle + radius * re), xRadius * radius * im));
+        }
+    }
+
+    /*
+     * Builds the colleague matrix of a Chebyshev series of degree n >= 1, whose eigenvalues are its roots. It follows
+     * t T_0 = T_1 and t T_k = (T_(k+1) + T_(k-1)) / 2, with T_n expressed by the lower terms, transposed to the upper
+     * Hessenberg form.
+     */
+    private static double[][] colleague(double[] coef, int n) {
+        double[][] matrix = new double[n][n];
+        if (n == 1) {
+            matrix[0][0] = -coef[0] / coef[1];
+            return matrix;
+        }
+        matrix[1][0] = 1;
+        for (int k = 1; k < n - 1; k++) {
+            matrix[k - 1][k] = 0.5;
+            matrix[k + 1][k] = 0.5;
+        }
+        matrix[n - 2][n - 1] = 0.5;
+        for (int k = 0; k < n; k++)
+            matrix[k][n - 1] -= coef[k] / (2 * coef[n]);
+        return matrix;
+    }
+
+    //Interpolates a Chebyshev series of the given degree on the part [lo, hi] of [-1, 1]
+    private static double[] restrict(double[] coef, int degree, double lo, double hi) {
+        double[] points = points(transformSize(degree), lo, hi);
+        for (int i = 0; i < points.length; i++)
+            points[i] = clenshaw(coef, degree, points[i]);
+        return transform(points);
+    }
+
+    //Polishes a real root with a few Newton's steps, keeping them only while they decrease the value
+    private double polish(double x) {
+        ChebyshevPolynomial derivative = getDerivative();
+        double val = calcAt(x);
+        for (int i = 0; i < POLISH_STEPS && val != 0; i++) {
+            double deriv = derivative.calcAt(x);
+            if (deriv == 0)
+                break;
+            double next = x - val / deriv, nextVal = calcAt(next);
+            if (!(Math.abs(nextVal) < Math.abs(val)))
+                break;
+            x = next;
+            val = nextVal;
+        }
+        return x;
+    }
+
+    //Evaluates c_0 T_0(t) + ... + c_n T_n(t) with Clenshaw's recurrence
+    private static double clenshaw(double[] coef, int n, double t) {
+        double b1 = 0, b2 = 0;
+        for (int k = n; k >= 1; k--) {
+            double b0 = 2 * t * b1 - b2 + coef[k];
+            b2 = b1;
+            b1 = b0;
+        }
+        return t * b1 - b2 + coef[0];
+    }
+
+    //Returns the number of intervals between the Chebyshev points for a degree, a power of 2 not less than it
+    private static int transformSize(int degree) {
+        return degree <= 1 ? 1 : Integer.highestOneBit(degree - 1) << 1;
+    }
+
+    //Returns the N + 1 Chebyshev points (a + b) / 2 + (b - a) / 2 cos(pi k / N) of [a, b], from b down
+    private static double[] points(int n, double a, double b) {
+        double[] points = new double[n + 1];
+        for (int k = 0; k <= n; k++) //The sine is symmetric around the middle, unlike the cosine in floating point
+            points[k] = (a + b) / 2 + (b - a) / 2 * Math.sin(Math.PI * (n - 2 * k) / (2 * n));
+        return points;
+    }
+
+    /*
+     * Computes the Chebyshev coefficients of the interpolant of values at the N + 1 Chebyshev points, N a power of 2.
+     * This is the discrete cosine transform, computed as the fast Fourier transform of the even extension of the values.
+     */
+    private static double[] transform(double[] values) {
+        int n = values.length - 1;
+        double[] re = new double[2 * n], im = new double[2 * n];
+        for (int k = 0; k <= n; k++)
+            re[k] = values[k];
+        for (int k = 1; k < n; k++)
+            re[2 * n - k] = values[k];
+        Convolution.transform(re, im, false);
+
+        double[] coef = new double[n + 1];
+        for (int j = 0; j <= n; j++)
+            coef[j] = re[j] / n;
+        coef[0] /= 2;
+        coef[n] /= 2;
+        return coef;
+    }
+
+    /**
+     * Returns string representation of the polynomial
+     * @return string representation of the polynomial
+     */
+    public String toString() {
+        return "Chebyshev series on [" + _a + ", " + _b + "]: " + Arrays.toString(_coefficients);
+    }
+}
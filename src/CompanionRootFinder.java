@@ -0,0 +1,110 @@
+/**
+ * This class finds the real roots of a polynomial as the real eigenvalues of its companion matrix, which are computed
+ * with the Hessenberg QR algorithm and then polished with Newton's method against the polynomial. If the QR algorithm
+ * doesn't converge, the roots are computed with the Aberth-Ehrlich iteration instead.
+ * <p>
+ * The eigenvalues of clustered and multiple roots may be split far off the real axis. A finder constructed with a
+ * fallback checks the number of the roots found against the Sturm sequence of the polynomial, and finds the roots with
+ * the fallback if they differ.
+ * @author Asquator
+ * @version 0.1
+ */
+public class CompanionRootFinder implements RootFinder {
+    private static final int POLISH_STEPS = 3; //Newton's steps to polish every eigenvalue with
+    private final RootFinder _fallback; //Finds the roots if their count is wrong, null to skip the check
+
+    /**
+     * Constructs a root finder that returns the real eigenvalues without checking their count
+     */
+    public CompanionRootFinder() {
+        this(null);
+    }
+
+    /**
+     * Constructs a root finder that checks the number of the real eigenvalues in the interval against the Sturm sequence
+     * of the polynomial, and finds the roots with the fallback if it's wrong
+     * @param fallback the root finder to find the roots with if their count is wrong, null to skip the check
+     */
+    public CompanionRootFinder(RootFinder fallback) {
+        _fallback = fallback;
+    }
+
+    /**
+     * Finds all distinct real roots of a polynomial in the closed interval [min, max]
+     * @param polynomial a polynomial which is not the zero polynomial
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    public double[] findRoots(Polynomial polynomial, double min, double max, double error) {
+        Interval interval = new Interval(min, max);
+        if (polynomial.isConst() || !interval.isValid())
+            return new double[0];
+        double[] roots = getAllRoots(polynomial).getRealRoots(interval, error, polynomial.getRounding());
+        if (_fallback != null && roots.length != countRoots(polynomial, min, max))
+            return _fallback.findRoots(polynomial, min, max, error);
+        return roots;
+    }
+
+    /*
+     * Counts the distinct real roots of a non-constant polynomial in the closed interval [min, max] with its Sturm
+     * sequence, at infinity for infinite endpoints
+     */
+    private static int countRoots(Polynomial polynomial, double min, double max) {
+        SturmSequence sturm = new SturmSequence(polynomial);
+        int minChanges = min == Double.NEGATIVE_INFINITY ? sturm.signChangesAtInfinity(false) : sturm.signChanges(min);
+        int maxChanges = max == Double.POSITIVE_INFINITY ? sturm.signChangesAtInfinity(true) : sturm.signChanges(max);
+        int count = minChanges - maxChanges; //The roots in (min, max]
+        return Double.isFinite(min) && polynomial.calcAt(min) == 0 ? count + 1 : count;
+    }
+
+    /**
+     * Computes all complex roots of a non-constant polynomial as the eigenvalues of its companion matrix, or with the
+     * Aberth-Ehrlich iteration if the QR algorithm doesn't converge
+     * @param polynomial the polynomial to solve
+     * @return the roots, repeated according to their multiplicities
+     */
+    public RootSet getAllRoots(Polynomial polynomial) {
+        double[] coef = polynomial.coefficients();
+        int n = coef.length - 1;
+        double lead = coef[n];
+
+        //The companion matrix of the monic polynomial: ones on the subdiagonal, negated coefficients in the last column
+        double[][] companion = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            companion[i][n - 1] = -coef[i] / lead;
+            if (i > 0)
+                companion[i][i - 1] = 1;
+        }
+
+        double[][] eigenvalues;
+        try {
+            eigenvalues = HessenbergQR.eigenvalues(companion);
+        } catch (ArithmeticException e) {
+            return new AberthSolver().solve(polynomial);
+        }
+        double[] valDeriv = new double[2];
+        Complex[] roots = new Complex[n];
+        for (int i = 0; i < n; i++) {
+            double re = eigenvalues[0][i], im = eigenvalues[1][i];
+            if (im == 0)
+                re = polish(polynomial, re, valDeriv);
+            roots[i] = new Complex(re, im);
+        }
+        return new RootSet(polynomial, roots);
+    }
+
+    //Polishes a real root with a few Newton's steps, keeping them only while they decrease the value
+    private static double polish(Polynomial polynomial, double x, double[] valDeriv) {
+        polynomial.calcAtWithDerivative(x, valDeriv);
+        for (int i = 0; i < POLISH_STEPS && valDeriv[0] != 0 && valDeriv[1] != 0; i++) {
+            double val = valDeriv[0], next = x - val / valDeriv[1];
+            polynomial.calcAtWithDerivative(next, valDeriv);
+            if (!(Math.abs(valDeriv[0]) < Math.abs(val)))
+                break;
+            x = next;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,41 @@
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * This interface represents an evaluation plan of a fixed polynomial, specialized for its degree and the pattern of
+ * its coefficients, see {@link Polynomial#compile()}. The plans are immutable and thread-safe.
+ * @author Asquator
+ * @version 0.1
+ */
+public interface CompiledPolynomial extends DoubleUnaryOperator {
+    /**
+     * Calculates the value of the polynomial in x
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    double calcAt(double x);
+
+    /**
+     * Calculates the value of the polynomial in x
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    default double applyAsDouble(double x) {
+        return calcAt(x);
+    }
+
+    /**
+     * Calculates the values of the polynomial in many points without allocating memory
+     * @param xs the points to calculate in
+     * @param out an array to write the values to, at least as long as xs
+     */
+    default void calcAt(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; i++)
+            out[i] = calcAt(xs[i]);
+    }
+
+    /**
+     * Returns the number of multiplications per evaluation
+     * @return the number of multiplications
+     */
+    int multiplications();
+}
@@ -0,0 +1,133 @@
+/**
+ * This class represents a complex number
+ * @author Asquator
+ * @version 0.1
+ */
+public class Complex {
+    /**The complex zero*/
+    public static final Complex ZERO = new Complex(0, 0);
+    private final double _re, _im;
+
+    /**
+     * Constructs a complex number from its real and imaginary parts
+     * @param re the real part
+     * @param im the imaginary part
+     */
+    public Complex(double re, double im) {
+        _re = re;
+        _im = im;
+    }
+
+    /**
+     * Returns the real part
+     * @return the real part
+     */
+    public double getRe() {
+        return _re;
+    }
+
+    /**
+     * Returns the imaginary part
+     * @return the imaginary part
+     */
+    public double getIm() {
+        return _im;
+    }
+
+    /**
+     * Returns the absolute value
+     * @return the absolute value
+     */
+    public double abs() {
+        return Math.hypot(_re, _im);
+    }
+
+    /**
+     * Checks if the number is real up to the given tolerance
+     * @param tolerance the maximal absolute value of the imaginary part
+     * @return true if the absolute value of the imaginary part doesn't exceed the tolerance
+     */
+    public boolean isReal(double tolerance) {
+        return Math.abs(_im) <= tolerance;
+    }
+
+    /**
+     * Performs addition of complex numbers
+     * @param other a number to add
+     * @return the sum
+     */
+    public Complex add(Complex other) {
+        return new Complex(_re + other._re, _im + other._im);
+    }
+
+    /**
+     * Performs subtraction of complex numbers
+     * @param other a number to subtract
+     * @return the difference
+     */
+    public Complex subtract(Complex other) {
+        return new Complex(_re - other._re, _im - other._im);
+    }
+
+    /**
+     * Performs multiplication of complex numbers
+     * @param other a number to multiply by
+     * @return the product
+     */
+    public Complex multiply(Complex other) {
+        return new Complex(_re * other._re - _im * other._im, _re * other._im + _im * other._re);
+    }
+
+    /**
+     * Performs division of complex numbers, using Smith's algorithm to avoid overflow
+     * @param other a number to divide by
+     * @return the quotient
+     */
+    public Complex divide(Complex other) {
+        double c = other._re, d = other._im;
+        if (Math.abs(c) >= Math.abs(d)) {
+            double r = d / c, den = c + d * r;
+            return new Complex((_re + _im * r) / den, (_im - _re * r) / den);
+        }
+        double r = c / d, den = c * r + d;
+        return new Complex((_re * r + _im) / den, (_im * r - _re) / den);
+    }
+
+    /**
+     * Returns the complex conjugate
+     * @return the complex conjugate
+     */
+    public Complex conjugate() {
+        return new Complex(_re, -_im);
+    }
+
+    /**
+     * Checks if the other object is a complex number with the same parts
+     * @param other the object to compare to
+     * @return true if the real and imaginary parts are equal
+     */
+    public boolean equals(Object other) {
+        if (!(other instanceof Complex))
+            return false;
+        Complex c = (Complex) other;
+        return Double.compare(_re, c._re) == 0 && Double.compare(_im, c._im) == 0;
+    }
+
+    /**
+     * Returns a hash code of the number
+     * @return a hash code of the number
+     */
+    public int hashCode() {
+        return 31 * Double.hashCode(_re) + Double.hashCode(_im);
+    }
+
+    /**
+     * Returns string representation of the number
+     * @return string representation of the number
+     */
+    public String toString() {
+        if (_im == 0)
+            return Double.toString(_re);
+        return _re + (_im < 0 ? " - " : " + ") + Math.abs(_im) + "i";
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * This class multiplies polynomials given by arrays of coefficients, i.e. computes the convolution of the arrays.
+ * The algorithm is chosen by the lengths: schoolbook for short arrays, Karatsuba for medium ones and the fast Fourier
+ * transform for long ones. The thresholds were tuned with bench/PolynomialBenchmark.
+ * @author Asquator
+ * @version 0.1
+ */
+public class Convolution {
+    /**Minimal length of the shorter array to use Karatsuba's algorithm with*/
+    public static final int KARATSUBA_THRESHOLD = 256;
+    /**Minimal length of the shorter array to use the fast Fourier transform with*/
+    public static final int FFT_THRESHOLD = 512;
+
+    private Convolution() {
+    }
+
+    /**
+     * Multiplies two polynomials, choosing the algorithm by their lengths.
+     * The result of the fast Fourier transform has a rounding error relative to the largest coefficients,
+     * so tiny coefficients of long products are not exact.
+     * @param a the coefficients of the first polynomial, from the free coefficient up
+     * @param b the coefficients of the second polynomial, from the free coefficient up
+     * @return the coefficients of the product, of length a.length + b.length - 1
+     */
+    public static double[] multiply(double[] a, double[] b) {
+        int shorter = Math.min(a.length, b.length);
+        if (shorter < KARATSUBA_THRESHOLD)
+            return schoolbook(a, b);
+        if (shorter < FFT_THRESHOLD)
+            return karatsuba(a, b);
+        return fft(a, b);
+    }
+
+    /**
+     * Multiplies two polynomials in O(n*m)
+     * @param a the coefficients of the first polynomial
+     * @param b the coefficients of the second polynomial
+     * @return the coefficients of the product
+     */
+    public static double[] schoolbook(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        schoolbook(a, 0, a.length, b, 0, b.length, result, 0);
+        return result;
+    }
+
+    //Adds the product of the given ranges to the result starting from the given offset
+    private static void schoolbook(double[] a, int aOff, int aLen, double[] b, int bOff, int bLen, double[] result, int resOff) {
+        for (int i = 0; i < aLen; i++) {
+            double c = a[aOff + i];
+            if (c != 0)
+                for (int j = 0; j < bLen; j++)
+                    result[resOff + i + j] += c * b[bOff + j];
+        }
+    }
+
+    /**
+     * Multiplies two polynomials with Karatsuba's algorithm in O(n^1.585)
+     * @param a the coefficients of the first polynomial
+     * @param b the coefficients of the second polynomial
+     * @return the coefficients of the product
+     */
+    public static double[] karatsuba(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        karatsuba(a, 0, a.length, b, 0, b.length, result, 0);
+        return result;
+    }
+
+    //Adds the product of the given ranges to the result starting from the given offset
+    private static void karatsuba(double[] a, int aOff, int aLen, double[] b, int bOff, int bLen, double[] result, int resOff) {
+        if (aLen < bLen) { //Making a the longer one
+            karatsuba(b, bOff, bLen, a, aOff, aLen, result, resOff);
+            return;
+        }
+        if (bLen < KARATSUBA_THRESHOLD) {
+            schoolbook(a, aOff, aLen, b, bOff, bLen, result, resOff);
+            return;
+        }
+        if (aLen > bLen) { //Splitting a into chunks of the length of b
+            for (int chunk = 0; chunk < aLen; chunk += bLen)
+                karatsuba(a, aOff + chunk, Math.min(bLen, aLen - chunk), b, bOff, bLen, result, resOff + chunk);
+            return;
+        }
+
+        //Equal lengths: (a0 + a1 x^h)(b0 + b1 x^h) = z0 + ((a0 + a1)(b0 + b1) - z0 - z2) x^h + z2 x^2h
+        int n = aLen, h = n / 2, high = n - h;
+        double[] z0 = new double[2 * h - 1], z2 = new double[2 * high - 1], z1 = new double[2 * high - 1];
+        double[] sumA = new double[high], sumB = new double[high];
+        karatsuba(a, aOff, h, b, bOff, h, z0, 0);
+        karatsuba(a, aOff + h, high, b, bOff + h, high, z2, 0);
+        for (int i = 0; i < high; i++) {
+            sumA[i] = a[aOff + h + i] + (i < h ? a[aOff + i] : 0);
+            sumB[i] = b[bOff + h + i] + (i < h ? b[bOff + i] : 0);
+        }
+        karatsuba(sumA, 0, high, sumB, 0, high, z1, 0);
+
+        for (int i = 0; i < z0.length; i++) {
+            result[resOff + i] += z0[i];
+            z1[i] -= z0[i];
+        }
+        for (int i = 0; i < z2.length; i++) {
+            result[resOff + 2 * h + i] += z2[i];
+            z1[i] -= z2[i];
+        }
+        for (int i = 0; i < z1.length; i++)
+            result[resOff + h + i] += z1[i];
+    }
+
+    /**
+     * Multiplies two polynomials with the fast Fourier transform in O(n log n).
+     * Both polynomials are packed into one complex transform as its real and imaginary parts.
+     * @param a the coefficients of the first polynomial
+     * @param b the coefficients of the second polynomial
+     * @return the coefficients of the product
+     */
+    public static double[] fft(double[] a, double[] b) {
+        int length = a.length + b.length - 1;
+        int n = Integer.highestOneBit(Math.max(length - 1, 1)) << 1; //The transform size, a power of 2 not less than length
+        double[] re = new double[n], im = new double[n];
+        System.arraycopy(a, 0, re, 0, a.length);
+        System.arraycopy(b, 0, im, 0, b.length);
+        transform(re, im, false);
+
+        //Z = A + iB, so A[k] = (Z[k] + conj(Z[n-k])) / 2 and B[k] = (Z[k] - conj(Z[n-k])) / 2i, and the product is A[k]B[k]
+        double[] prodRe = new double[n], prodIm = new double[n];
+        for (int k = 0; k < n; k++) {
+            int j = (n - k) & (n - 1);
+            double aRe = (re[k] + re[j]) / 2, aIm = (im[k] - im[j]) / 2;
+            double bRe = (im[k] + im[j]) / 2, bIm = (re[j] - re[k]) / 2;
+            prodRe[k] = aRe * bRe - aIm * bIm;
+            prodIm[k] = aRe * bIm + aIm * bRe;
+        }
+        transform(prodRe, prodIm, true);
+
+        double[] result = new double[length];
+        for (int i = 0; i < length; i++)
+            result[i] = prodRe[i] / n;
+        return result;
+    }
+
+    /**
+     * Performs the in-place iterative radix-2 fast Fourier transform of a complex array, without normalization
+     * @param re the real parts, of a power of 2 length
+     * @param im the imaginary parts, of the same length
+     * @param inverse true for the inverse transform
+     */
+    public static void transform(double[] re, double[] im, boolean inverse) {
+        int n = re.length;
+        for (int i = 1, j = 0; i < n; i++) { //Bit reversal permutation
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1)
+                j ^= bit;
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+
+        double[] cos = new double[n / 2], sin = new double[n / 2]; //Twiddle factors, computed directly for accuracy
+        for (int i = 0; i < n / 2; i++) {
+            double angle = 2 * Math.PI * i / n;
+            cos[i] = Math.cos(angle);
+            sin[i] = inverse ? Math.sin(angle) : -Math.sin(angle);
+        }
+
+        for (int size = 2; size <= n; size <<= 1) {
+            int half = size / 2, step = n / size;
+            for (int start = 0; start < n; start += size) {
+                for (int k = 0; k < half; k++) {
+                    int even = start + k, odd = even + half;
+                    double wRe = cos[k * step], wIm = sin[k * step];
+                    double tRe = re[odd] * wRe - im[odd] * wIm, tIm = re[odd] * wIm + im[odd] * wRe;
+                    re[odd] = re[even] - tRe;
+                    im[odd] = im[even] - tIm;
+                    re[even] += tRe;
+                    im[even] += tIm;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * This class samples the graph of a polynomial for plotting with as few points as possible. The roots, extrema points
+ * and inflection points split the interval into pieces on which the polynomial is monotonic and of constant concavity.
+ * The graph of such a piece deviates from a chord by at most twice the deviation at the middle of the chord, so a piece
+ * is bisected until that bound is below half a pixel or the piece is narrower than a pixel. The extrema of the piece
+ * are at its endpoints, so the samples keep the minima and maxima of the graph exactly.
+ * <p>
+ * A sampler reuses its working memory between calls and isn't thread-safe.
+ * @author Asquator
+ * @version 0.1
+ */
+public class CurveSampler {
+    private static final double MAX_DEVIATION = 0.5; //Maximal distance of the samples from the graph, in pixels
+    private static final double BREAK_ERROR = 1.0 / 16; //Accuracy of the special points, in pixels
+    private double[] _stack = new double[64]; //Pieces waiting to be processed, as quadruples (a, f(a), b, f(b))
+    private DoubleBuffer _xs, _ys; //Destinations of the samples
+    private boolean _growable; //Whether the destinations are replaced by larger ones when full
+
+    /**
+     * Samples the graph of a polynomial on an interval
+     * @param polynomial the polynomial to sample
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param pixels the width and the height of the plot in pixels
+     * @return an array of two arrays of equal length: the x coordinates in ascending order and the values
+     * @throws IllegalArgumentException if the interval is empty or the number of pixels isn't positive
+     */
+    public double[][] sample(Polynomial polynomial, double min, double max, int pixels) {
+        _xs = DoubleBuffer.allocate(64);
+        _ys = DoubleBuffer.allocate(64);
+        _growable = true;
+        int count = sampleAll(polynomial, min, max, pixels);
+        double[][] samples = {Arrays.copyOf(_xs.array(), count), Arrays.copyOf(_ys.array(), count)};
+        _xs = _ys = null;
+        return samples;
+    }
+
+    /**
+     * Samples the graph of a polynomial on an interval into the given buffers, starting at their positions
+     * @param polynomial the polynomial to sample
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param pixels the width and the height of the plot in pixels
+     * @param xs the buffer to write the x coordinates to, in ascending order
+     * @param ys the buffer to write the values to
+     * @return the number of samples written
+     * @throws IllegalArgumentException if the interval is empty or the number of pixels isn't positive
+     * @throws BufferOverflowException if the samples don't fit in a buffer
+     */
+    public int sample(Polynomial polynomial, double min, double max, int pixels, DoubleBuffer xs, DoubleBuffer ys) {
+        _xs = xs;
+        _ys = ys;
+        _growable = false;
+        try {
+            return sampleAll(polynomial, min, max, pixels);
+        } finally {
+            _xs = _ys = null;
+        }
+    }
+
+    //Samples the graph and returns the number of samples
+    private int sampleAll(Polynomial polynomial, double min, double max, int pixels) {
+        if (!(min < max) || pixels <= 0)
+            throw new IllegalArgumentException("Can't sample the interval [" + min + ", " + max + "] in " + pixels + " pixels");
+        double pixelWidth = (max - min) / pixels;
+        double[] breaks = breakPoints(polynomial, min, max, pixelWidth * BREAK_ERROR);
+        double[] values = new double[breaks.length];
+        double low = Double.POSITIVE_INFINITY, high = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < breaks.length; i++) { //The pieces are monotonic, so the range of the graph is found here
+            values[i] = polynomial.calcAt(breaks[i]);
+            low = Math.min(low, values[i]);
+            high = Math.max(high, values[i]);
+        }
+        double maxDeviation = (high - low) / pixels * MAX_DEVIATION;
+
+        int count = 1;
+        emit(breaks[0], values[0]);
+        for (int i = 0; i + 1 < breaks.length; i++)
+            count += samplePiece(polynomial, breaks[i], values[i], breaks[i + 1], values[i + 1], pixelWidth, maxDeviation);
+        return count;
+    }
+
+    /*
+     * Returns the sorted distinct endpoints, roots, extrema points and inflection points in [min, max]
+     */
+    private static double[] breakPoints(Polynomial polynomial, double min, double max, double error) {
+        double[] roots = polynomial.isZero() ? new double[0] : polynomial.getRoots(min, max, error);
+        Point[] extrema = polynomial.getExtremaPoints(min, max, error);
+        Point[] inflections = polynomial.getInflectionPoints(min, max, error);
+
+        double[] breaks = new double[roots.length + extrema.length + inflections.length + 2];
+        int count = 0;
+        breaks[count++] = min;
+        breaks[count++] = max;
+        for (double root : roots)
+            breaks[count++] = root;
+        for (Point point : extrema)
+            breaks[count++] = point.getX();
+        for (Point point : inflections)
+            breaks[count++] = point.getX();
+        Arrays.sort(breaks, 0, count);
+
+        int distinct = 0;
+        for (int i = 0; i < count; i++) //The special points are rounded, so they may fall off the interval
+            if (breaks[i] >= min && breaks[i] <= max && (distinct == 0 || breaks[i] > breaks[distinct - 1]))
+                breaks[distinct++] = breaks[i];
+        return Arrays.copyOf(breaks, distinct);
+    }
+
+    /*
+     * Samples a piece on which the polynomial is monotonic and of constant concavity, emitting the samples after a
+     * in ascending order up to and including b. Returns the number of samples emitted.
+     */
+    private int samplePiece(Polynomial polynomial, double a, double valA, double b, double valB,
+                            double pixelWidth, double maxDeviation) {
+        int count = 0, top = 0;
+        push(top++, a, valA, b, valB);
+        while (top > 0) {
+            int entry = --top * 4;
+            double left = _stack[entry], valLeft = _stack[entry + 1];
+            double right = _stack[entry + 2], valRight = _stack[entry + 3];
+            double middle = (left + right) / 2;
+            if (right - left > pixelWidth && middle > left && middle < right) {
+                double valMiddle = polynomial.calcAt(middle);
+                //The deviation from the chord is at most twice the deviation at its middle
+                if (2 * Math.abs(valMiddle - (valLeft + valRight) / 2) > maxDeviation) {
+                    push(top++, middle, valMiddle, right, valRight); //The left half is processed first
+                    push(top++, left, valLeft, middle, valMiddle);
+                    continue;
+                }
+            }
+            emit(right, valRight);
+            count++;
+        }
+        return count;
+    }
+
+    //Writes a piece to the given entry of the stack, growing it if needed
+    private void push(int entry, double a, double valA, double b, double valB) {
+        if (entry * 4 + 4 > _stack.length)
+            _stack = Arrays.copyOf(_stack, _stack.length * 2);
+        _stack[entry * 4] = a;
+        _stack[entry * 4 + 1] = valA;
+        _stack[entry * 4 + 2] = b;
+        _stack[entry * 4 + 3] = valB;
+    }
+
+    //Writes a sample to the destinations, replacing full growable ones by larger copies
+    private void emit(double x, double y) {
+        if (!_xs.hasRemaining() || !_ys.hasRemaining()) {
+            if (!_growable)
+                throw new BufferOverflowException();
+            _xs = DoubleBuffer.wrap(Arrays.copyOf(_xs.array(), _xs.capacity() * 2)).position(_xs.position());
+            _ys = DoubleBuffer.wrap(Arrays.copyOf(_ys.array(), _ys.capacity() * 2)).position(_ys.position());
+        }
+        _xs.put(x);
+        _ys.put(y);
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * This class finds the roots of a polynomial one by one, dividing every converged root out of the polynomial, so every
+ * following search works on a polynomial of lower degree. The roots are found with Laguerre's method, which converges
+ * to some root, real or complex, from any starting point. Complex roots are divided out together with their conjugates.
+ * Every root found on a deflated polynomial is polished against the original one, which removes the errors that the
+ * deflation accumulates. The polished root is only reported, and only if it stays close to the root found, since the
+ * polishing may converge to a neighbouring root divided out before; the deflation always uses the root found on the
+ * deflated polynomial, which is a root of it.
+ * @author Asquator
+ * @version 0.1
+ */
+public class DeflationRootFinder implements RootFinder {
+    private static final int MAX_ITERATIONS = 80; //Maximal number of Laguerre's steps per root
+    private static final int CYCLE_BREAK_PERIOD = 10; //A fractional step is taken every that many steps to break limit cycles
+    private static final double[] CYCLE_BREAK_FRACTIONS = {0.5, 0.25, 0.75, 0.13, 0.38, 0.62, 0.88, 1.0};
+    private static final double EPSILON = Math.ulp(1.0);
+    private static final double START_ANGLE = 0.5; //Direction of the first starting point
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5)); //Rotation of the starting point per root
+    private static final double POLISH_DISTANCE = 1e-6; //Maximal move of a root by the polishing, relative to max(1, |root|)
+
+    /**
+     * Finds all distinct real roots of a polynomial in the closed interval [min, max]
+     * @param polynomial a polynomial which is not the zero polynomial
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    public double[] findRoots(Polynomial polynomial, double min, double max, double error) {
+        Interval interval = new Interval(min, max);
+        if (polynomial.isConst() || !interval.isValid())
+            return new double[0];
+        return getAllRoots(polynomial, error).getRealRoots(interval, error, polynomial.getRounding());
+    }
+
+    /**
+     * Computes all complex roots of a non-constant polynomial by successive deflation
+     * @param polynomial the polynomial to solve
+     * @param error the maximal absolute value of the imaginary part of a root considered real
+     * @return the roots, repeated according to their multiplicities
+     */
+    public RootSet getAllRoots(Polynomial polynomial, double error) {
+        double[] original = polynomial.coefficients();
+        double[] coef = original.clone(); //The deflated polynomial
+        int n = coef.length - 1;
+        Complex[] roots = new Complex[n];
+        int rootCounter = 0;
+        double[] z = new double[2], polished = new double[2];
+
+        while (n > 0) {
+            if (coef[0] == 0) { //An exact root at zero, dividing by x
+                roots[rootCounter++] = Complex.ZERO;
+                System.arraycopy(coef, 1, coef, 0, n--);
+                continue;
+            }
+
+            startingPoint(coef, n, START_ANGLE + rootCounter * GOLDEN_ANGLE, z);
+            laguerre(coef, n, z); //Searching on the deflated polynomial
+            polished[0] = z[0];
+            polished[1] = z[1];
+            laguerre(original, original.length - 1, polished); //Polishing against the original one
+            double distance = Math.hypot(polished[0] - z[0], polished[1] - z[1]);
+            boolean keepPolished = distance <= POLISH_DISTANCE * Math.max(1, Math.hypot(z[0], z[1]));
+
+            if (Math.abs(z[1]) <= error || n == 1) { //A real root
+                roots[rootCounter++] = new Complex(keepPolished ? polished[0] : z[0], 0);
+                deflateComposite(coef, n, z[0]);
+                n--;
+            } else { //A pair of conjugate roots, dividing by x^2 - 2 Re(z) x + |z|^2
+                double re = keepPolished ? polished[0] : z[0], im = Math.abs(keepPolished ? polished[1] : z[1]);
+                roots[rootCounter++] = new Complex(re, im);
+                roots[rootCounter++] = new Complex(re, -im);
+                deflateQuadratic(coef, n, -2 * z[0], z[0] * z[0] + z[1] * z[1]);
+                n -= 2;
+            }
+        }
+        return new RootSet(polynomial, roots);
+    }
+
+    /*
+     * Places the starting point off the real axis on the circle with the radius |a0 / an|^(1/n), the geometric mean of
+     * the absolute values of the roots. Starting at zero is degenerate for polynomials like x^n - 1. The direction
+     * rotates by the golden angle with every root found, so roots lying on a common circle are divided out evenly
+     * around it rather than as a cluster, which would blow up the coefficients of the deflated polynomial.
+     */
+    private static void startingPoint(double[] coef, int n, double angle, double[] z) {
+        double radius = Math.pow(Math.abs(coef[0] / coef[n]), 1.0 / n);
+        if (!(radius > 0) || Double.isInfinite(radius))
+            radius = 1;
+        z[0] = radius * Math.cos(angle);
+        z[1] = radius * Math.sin(angle);
+    }
+
+    /*
+     * Improves the approximation z = (re, im) of a root of the polynomial of degree n with Laguerre's method
+     */
+    private static void laguerre(double[] coef, int n, double[] z) {
+        double zr = z[0], zi = z[1];
+        double[] quotient = new double[2];
+        for (int iteration = 1; iteration <= MAX_ITERATIONS; iteration++) {
+            //The value, the first and the half second derivative at z with Horner's scheme
+            double pr = coef[n], pi = 0, dr = 0, di = 0, sr = 0, si = 0, bound = Math.abs(pr);
+            double zAbs = Math.hypot(zr, zi);
+            for (int k = n - 1; k >= 0; k--) {
+                double t = sr * zr - si * zi + dr;
+                si = sr * zi + si * zr + di;
+                sr = t;
+                t = dr * zr - di * zi + pr;
+                di = dr * zi + di * zr + pi;
+                dr = t;
+                t = pr * zr - pi * zi + coef[k];
+                pi = pr * zi + pi * zr;
+                pr = t;
+                bound = Math.hypot(pr, pi) + zAbs * bound;
+            }
+            double pAbs = Math.hypot(pr, pi);
+            if (pAbs <= EPSILON * bound) //The value is below its rounding error, z is a root
+                break;
+
+            //G = p'/p, H = G^2 - p''/p, where p'' = 2s
+            divide(dr, di, pr, pi, quotient);
+            double gr = quotient[0], gi = quotient[1];
+            divide(2 * sr, 2 * si, pr, pi, quotient);
+            double g2r = gr * gr - gi * gi, g2i = 2 * gr * gi;
+            double hr = g2r - quotient[0], hi = g2i - quotient[1];
+
+            //sq = sqrt((n - 1)(nH - G^2))
+            double qr = (n - 1) * (n * hr - g2r), qi = (n - 1) * (n * hi - g2i);
+            double qAbs = Math.hypot(qr, qi);
+            double sqr = Math.sqrt((qAbs + qr) / 2), sqi = Math.copySign(Math.sqrt((qAbs - qr) / 2), qi);
+
+            double pluR = gr + sqr, pluI = gi + sqi, minR = gr - sqr, minI = gi - sqi;
+            double plusAbs = Math.hypot(pluR, pluI), minusAbs = Math.hypot(minR, minI);
+            double denR = plusAbs >= minusAbs ? pluR : minR, denI = plusAbs >= minusAbs ? pluI : minI;
+            double denAbs = Math.max(plusAbs, minusAbs);
+
+            double ar, ai; //The step a = n / (G +- sq)
+            if (denAbs > 0) {
+                divide(n, 0, denR, denI, quotient);
+                ar = quotient[0];
+                ai = quotient[1];
+            } else { //A degenerate point, stepping in a direction that rotates with the iteration
+                ar = (1 + zAbs) * Math.cos(iteration);
+                ai = (1 + zAbs) * Math.sin(iteration);
+            }
+
+            double newR = zr - ar, newI = zi - ai;
+            if (newR == zr && newI == zi) //Converged
+                break;
+            if (iteration % CYCLE_BREAK_PERIOD != 0) {
+                zr = newR;
+                zi = newI;
+            } else { //A fractional step breaks limit cycles
+                double fraction = CYCLE_BREAK_FRACTIONS[(iteration / CYCLE_BREAK_PERIOD) % CYCLE_BREAK_FRACTIONS.length];
+                zr -= fraction * ar;
+                zi -= fraction * ai;
+            }
+        }
+        z[0] = zr;
+        z[1] = zi;
+    }
+
+    //Divides (a + bi) by (c + di) with Smith's algorithm, which avoids overflow, and writes the quotient to out
+    private static void divide(double a, double b, double c, double d, double[] out) {
+        if (Math.abs(c) >= Math.abs(d)) {
+            double r = d / c, den = c + d * r;
+            out[0] = (a + b * r) / den;
+            out[1] = (b - a * r) / den;
+        } else {
+            double r = c / d, den = c * r + d;
+            out[0] = (a * r + b) / den;
+            out[1] = (b * r - a) / den;
+        }
+    }
+
+    /*
+     * Divides the polynomial of degree n by (x - root) with the composite deflation of Peters and Wilkinson: the
+     * quotient coefficients above the term of the largest magnitude at the root are computed from the highest
+     * coefficient down, the others from the free coefficient up, so neither recurrence amplifies its rounding errors.
+     */
+    private static void deflateComposite(double[] coef, int n, double root) {
+        int split = 0; //The index of the largest |a_i| |root|^i, compared in logarithms
+        double logRoot = Math.log(Math.abs(root)), largest = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i <= n; i++) {
+            double log = coef[i] == 0 ? Double.NEGATIVE_INFINITY : Math.log(Math.abs(coef[i])) + i * logRoot;
+            if (log > largest) {
+                largest = log;
+                split = i;
+            }
+        }
+
+        double[] quotient = new double[n];
+        double carry = coef[n];
+        for (int i = n - 1; i >= split && i >= 0; i--) { //q_i = a_(i+1) + root q_(i+1), from the top
+            quotient[i] = carry;
+            carry = carry * root + coef[i];
+        }
+        double prev = 0;
+        for (int i = 0; i < split && i < n; i++) { //a_i = q_(i-1) - root q_i, from the bottom
+            prev = (prev - coef[i]) / root;
+            quotient[i] = prev;
+        }
+        System.arraycopy(quotient, 0, coef, 0, n);
+        coef[n] = 0;
+    }
+
+    //Divides the polynomial of degree n by x^2 + s x + t from the highest coefficient down
+    private static void deflateQuadratic(double[] coef, int n, double s, double t) {
+        double[] quotient = new double[n - 1];
+        double[] rem = coef.clone();
+        for (int i = n; i >= 2; i--) {
+            double q = rem[i];
+            quotient[i - 2] = q;
+            rem[i - 1] -= q * s;
+            rem[i - 2] -= q * t;
+        }
+        for (int i = 0; i <= n; i++)
+            coef[i] = i < n - 1 ? quotient[i] : 0;
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * This class computes the eigenvalues of a real upper Hessenberg matrix with the Francis double shift QR algorithm.
+ * Every sweep works on the Hessenberg structure directly and costs O(n^2) operations.
+ * @author Asquator
+ * @version 0.1
+ */
+public class HessenbergQR {
+    private static final int MAX_BALANCE_SWEEPS = 64; //Balancing converges slowly at high degrees, but its bulk is early
+    private static final int MAX_ITERATIONS = 100; //Maximal number of sweeps per eigenvalue
+    private static final int EXCEPTIONAL_PERIOD = 10; //Number of sweeps without convergence before an exceptional shift
+    private static final double RADIX = 2; //Balancing scales by powers of the radix, which is exact
+    private static final double BALANCE_LIMIT = 0x1p500; //Maximal magnitude of an entry scaled up by balancing
+
+    private HessenbergQR() {
+    }
+
+    /**
+     * Computes the eigenvalues of an upper Hessenberg matrix. The matrix is balanced and then destroyed.
+     * @param a an upper Hessenberg matrix, overwritten during the computation
+     * @return an array of two arrays: the real parts and the imaginary parts of the eigenvalues.
+     * Complex eigenvalues come in conjugate pairs, the one with positive imaginary part first.
+     * @throws ArithmeticException if the algorithm didn't converge
+     */
+    public static double[][] eigenvalues(double[][] a) {
+        balance(a);
+        return hqr(a);
+    }
+
+    /*
+     * Balances the matrix by a diagonal similarity transformation, so that the norms of every row and its column
+     * are close. Keeps the Hessenberg form and reduces the rounding errors of the eigenvalues. The sweeps are bounded:
+     * on companion matrices of high degree the scaling factors keep oscillating between neighbouring powers of the radix
+     * for hundreds of sweeps, and a partially balanced matrix is still similar to the original one.
+     */
+    private static void balance(double[][] a) {
+        int n = a.length;
+        double sqrRadix = RADIX * RADIX;
+        boolean done = false;
+        for (int sweep = 0; !done && sweep < MAX_BALANCE_SWEEPS; sweep++) {
+            done = true;
+            for (int i = 0; i < n; i++) {
+                double r = 0, c = 0, rowMax = 0, columnMax = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j != i) {
+                        c += Math.abs(a[j][i]);
+                        r += Math.abs(a[i][j]);
+                        columnMax = Math.max(columnMax, Math.abs(a[j][i]));
+                        rowMax = Math.max(rowMax, Math.abs(a[i][j]));
+                    }
+                }
+                //The column is scaled by f and the row by 1 / f. Neither may grow beyond the limit, so the QR iteration
+                //doesn't overflow and the loops below terminate.
+                if (c != 0 && r != 0 && Double.isFinite(c + r)) {
+                    double g = r / RADIX, f = 1, s = c + r;
+                    while (c < g && columnMax * f * RADIX <= BALANCE_LIMIT) {
+                        f *= RADIX;
+                        c *= sqrRadix;
+                    }
+                    g = r * RADIX;
+                    while (c > g && rowMax / f * RADIX <= BALANCE_LIMIT) {
+                        f /= RADIX;
+                        c /= sqrRadix;
+                    }
+                    if ((c + r) / f < 0.95 * s) {
+                        done = false;
+                        g = 1 / f;
+                        for (int j = 0; j < n; j++)
+                            a[i][j] *= g;
+                        for (int j = 0; j < n; j++)
+                            a[j][i] *= f;
+                    }
+                }
+            }
+        }
+    }
+
+    //The Francis double shift QR iteration with deflation
+    private static double[][] hqr(double[][] a) {
+        int n = a.length;
+        double[] wr = new double[n], wi = new double[n];
+        double anorm = 0, t = 0;
+        double p = 0, q = 0, r = 0, s, u, v, w, x, y, z;
+        for (int i = 0; i < n; i++)
+            for (int j = Math.max(i - 1, 0); j < n; j++)
+                anorm += Math.abs(a[i][j]);
+
+        int nn = n - 1;
+        while (nn >= 0) {
+            int its = 0, l;
+            do {
+                for (l = nn; l >= 1; l--) { //Looking for a single small subdiagonal element
+                    s = Math.abs(a[l - 1][l - 1]) + Math.abs(a[l][l]);
+                    if (s == 0)
+                        s = anorm;
+                    if (Math.abs(a[l][l - 1]) + s == s) {
+                        a[l][l - 1] = 0;
+                        break;
+                    }
+                }
+                x = a[nn][nn];
+                if (l == nn) { //One root found
+                    wr[nn] = x + t;
+                    wi[nn--] = 0;
+                } else {
+                    y = a[nn - 1][nn - 1];
+                    w = a[nn][nn - 1] * a[nn - 1][nn];
+                    if (l == nn - 1) { //Two roots found
+                        p = 0.5 * (y - x);
+                        q = p * p + w;
+                        z = Math.sqrt(Math.abs(q));
+                        x += t;
+                        if (q >= 0) { //A real pair
+                            z = p + Math.copySign(z, p);
+                            wr[nn - 1] = wr[nn] = x + z;
+                            if (z != 0)
+                                wr[nn] = x - w / z;
+                            wi[nn - 1] = wi[nn] = 0;
+                        } else { //A complex pair
+                            wr[nn - 1] = wr[nn] = x + p;
+                            wi[nn - 1] = z;
+                            wi[nn] = -z;
+                        }
+                        nn -= 2;
+                    } else { //No roots found yet, continuing the iteration
+                        if (its == MAX_ITERATIONS)
+                            throw new ArithmeticException("The QR iteration did not converge");
+                        if (its > 0 && its % EXCEPTIONAL_PERIOD == 0) { //Exceptional shift
+                            t += x;
+                            for (int i = 0; i <= nn; i++)
+                                a[i][i] -= x;
+                            //Alternating between the bottom and the top of the active block, like LAPACK's dlahqr,
+                            //so that a cycle which one of the shifts falls into is broken by the other
+                            if (its / EXCEPTIONAL_PERIOD % 2 == 1)
+                                s = Math.abs(a[nn][nn - 1]) + Math.abs(a[nn - 1][nn - 2]);
+                            else
+                                s = Math.abs(a[l + 1][l]) + Math.abs(a[l + 2][l + 1]);
+                            y = x = 0.75 * s;
+                            w = -0.4375 * s * s;
+                        }
+                        ++its;
+
+                        int m;
+                        for (m = nn - 2; m >= l; m--) { //Looking for two consecutive small subdiagonal elements
+                            z = a[m][m];
+                            r = x - z;
+                            s = y - z;
+                            p = (r * s - w) / a[m + 1][m] + a[m][m + 1];
+                            q = a[m + 1][m + 1] - z - r - s;
+                            r = a[m + 2][m + 1];
+                            s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                            p /= s;
+                            q /= s;
+                            r /= s;
+                            if (m == l)
+                                break;
+                            u = Math.abs(a[m][m - 1]) * (Math.abs(q) + Math.abs(r));
+                            v = Math.abs(p) * (Math.abs(a[m - 1][m - 1]) + Math.abs(z) + Math.abs(a[m + 1][m + 1]));
+                            if (u + v == v)
+                                break;
+                        }
+                        for (int i = m + 2; i <= nn; i++) {
+                            a[i][i - 2] = 0;
+                            if (i != m + 2)
+                                a[i][i - 3] = 0;
+                        }
+
+                        for (int k = m; k <= nn - 1; k++) { //The double shift QR step on rows l to nn and columns m to nn
+                            if (k != m) {
+                                p = a[k][k - 1];
+                                q = a[k + 1][k - 1];
+                                r = 0;
+                                if (k != nn - 1)
+                                    r = a[k + 2][k - 1];
+                                if ((x = Math.abs(p) + Math.abs(q) + Math.abs(r)) != 0) {
+                                    p /= x;
+                                    q /= x;
+                                    r /= x;
+                                }
+                            }
+                            if ((s = Math.copySign(Math.sqrt(p * p + q * q + r * r), p)) != 0) {
+                                if (k == m) {
+                                    if (l != m)
+                                        a[k][k - 1] = -a[k][k - 1];
+                                } else
+                                    a[k][k - 1] = -s * x;
+                                p += s;
+                                x = p / s;
+                                y = q / s;
+                                z = r / s;
+                                q /= p;
+                                r /= p;
+                                for (int j = k; j <= nn; j++) { //Row modification
+                                    p = a[k][j] + q * a[k + 1][j];
+                                    if (k != nn - 1) {
+                                        p += r * a[k + 2][j];
+                                        a[k + 2][j] -= p * z;
+                                    }
+                                    a[k + 1][j] -= p * y;
+                                    a[k][j] -= p * x;
+                                }
+                                int mmin = Math.min(nn, k + 3);
+                                for (int i = l; i <= mmin; i++) { //Column modification
+                                    p = x * a[i][k] + y * a[i][k + 1];
+                                    if (k != nn - 1) {
+                                        p += z * a[i][k + 2];
+                                        a[i][k + 2] -= p * r;
+                                    }
+                                    a[i][k + 1] -= p * q;
+                                    a[i][k] -= p;
+                                }
+                            }
+                        }
+                    }
+                }
+            } while (l < nn - 1);
+        }
+        return new double[][]{wr, wi};
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * This class approximates roots by the Illinois variant of regula falsi. The value at an endpoint that is retained
+ * twice in a row is halved, which prevents the one-sided convergence of plain regula falsi.
+ * @author Asquator
+ * @version 0.1
+ */
+public class IllinoisRefiner implements RootRefiner {
+
+    /**
+     * Approximates a root in an interval with opposite signs of the polynomial in the endpoints
+     * @param polynomial the polynomial to approximate the root of
+     * @param a the a endpoint
+     * @param b the b endpoint
+     * @param valA the value of the polynomial at a
+     * @param valB the value of the polynomial at b, of the opposite sign to valA
+     * @param error the desired accuracy
+     * @return the root approximation
+     */
+    public double refine(Polynomial polynomial, double a, double b, double valA, double valB, double error) {
+        int side = 0; //-1 if a was retained in the last step, 1 if b was
+        while (Math.abs(b - a) >= error) {
+            double x = (a * valB - b * valA) / (valB - valA);
+            if (!(x > a && x < b)) //The secant left the interval due to rounding
+                x = (a + b) / 2;
+            double valX = polynomial.calcAtCertified(x);
+            if (valX == 0)
+                return x;
+
+            double prevWidth = b - a;
+            if (valX * valB < 0) { //The root is in [x, b], a is replaced
+                a = x;
+                valA = valX;
+                if (side == 1)
+                    valB /= 2;
+                side = 1;
+            } else { //The root is in [a, x], b is replaced
+                b = x;
+                valB = valX;
+                if (side == -1)
+                    valA /= 2;
+                side = -1;
+            }
+            if (b - a >= prevWidth) //No progress is possible
+                break;
+        }
+        return (a + b) / 2;
+    }
+}
@@ -0,0 +1,251 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * This class analyzes polynomial files larger than the heap. The input file, in the binary format of
+ * {@link PolynomialCodec}, is memory-mapped window by window. The coefficients of every window are copied in bulk into
+ * one reused {@link PolynomialBatch} and analyzed in parallel by a {@link PolynomialAnalyzer}. The results are written
+ * to a memory-mapped output file as they arrive, so the heap holds at most one window of polynomials and the results
+ * in flight.
+ * <p>
+ * Every result record consists of little-endian 8-byte fields: the index of the polynomial in the input, the number of
+ * roots followed by the roots, the number of extrema points followed by the x, the value and 1 for a minimum or 0 for
+ * a maximum of every point, and the number of inflection points followed by the x, the value and 1 for a change of
+ * concavity from down to up or 0 otherwise of every point. The records are in the order of completion.
+ * @author Asquator
+ * @version 0.1
+ */
+public class MappedAnalyzer {
+    /**Default size of the windows the input is mapped in*/
+    public static final int DEFAULT_WINDOW_BYTES = 64 << 20;
+    private static final int FIELD_BYTES = PolynomialCodec.FIELD_BYTES;
+    private final PolynomialAnalyzer _analyzer;
+    private final int _windowBytes;
+
+    /**
+     * Constructs a file analyzer mapping the files in windows of the default size
+     * @param analyzer the analyzer to run on every polynomial
+     */
+    public MappedAnalyzer(PolynomialAnalyzer analyzer) {
+        this(analyzer, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Constructs a file analyzer
+     * @param analyzer the analyzer to run on every polynomial
+     * @param windowBytes the size of the windows the files are mapped in, enlarged for records that don't fit
+     */
+    public MappedAnalyzer(PolynomialAnalyzer analyzer, int windowBytes) {
+        if (windowBytes < 2 * FIELD_BYTES)
+            throw new IllegalArgumentException("The window must hold at least one record");
+        _analyzer = analyzer;
+        _windowBytes = windowBytes;
+    }
+
+    /**
+     * Analyzes all polynomials of the input file and writes the results to the output file, which is replaced
+     * @param input a file of polynomials in the binary format
+     * @param output the file to write the results to
+     * @return the number of polynomials analyzed
+     * @throws IOException if a file can't be read or written, or the input ends in the middle of a record
+     * @throws InterruptedException if the thread was interrupted while waiting for the workers
+     */
+    public long analyze(Path input, Path output) throws IOException, InterruptedException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ResultWriter writer = new ResultWriter(out);
+            PolynomialBatch batch = new PolynomialBatch();
+            long size = in.size(), position = 0, count = 0;
+            int windowBytes = _windowBytes;
+
+            while (position < size) {
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowBytes, size - position));
+                batch.clear();
+                int read = PolynomialCodec.readBinary(window, batch);
+                if (read == 0) { //The first record doesn't fit in the window
+                    long degree = window.order(ByteOrder.LITTLE_ENDIAN).getLong(0); //Nonnegative, checked by readBinary
+                    if (window.capacity() == size - position || degree > (size - position) / FIELD_BYTES - 2)
+                        throw new IOException("The input ends in the middle of a record at byte " + position);
+                    long needed = (degree + 2) * FIELD_BYTES;
+                    if (needed > Integer.MAX_VALUE)
+                        throw new IOException("A record of " + needed + " bytes is too large to map");
+                    windowBytes = (int) needed;
+                    continue;
+                }
+
+                long base = count;
+                _analyzer.analyze(batch, result -> writer.write(base + result.getIndex(), result));
+                position += window.position();
+                count += read;
+                windowBytes = _windowBytes;
+            }
+            writer.finish();
+            return count;
+        }
+    }
+
+    /**
+     * Reads the results written by {@link #analyze(Path, Path)}. The polynomials aren't stored with the results, so
+     * {@link AnalysisResult#getPolynomial()} returns null.
+     * @param results the file of results
+     * @param sink the consumer of the results, in the order of the file
+     * @return the number of results read
+     * @throws IOException if the file can't be read, ends in the middle of a record or a record has an invalid count
+     */
+    public long readResults(Path results, Consumer<AnalysisResult> sink) throws IOException {
+        try (FileChannel in = FileChannel.open(results, StandardOpenOption.READ)) {
+            long size = in.size(), position = 0, count = 0;
+            int windowBytes = _windowBytes;
+            while (position < size) {
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowBytes, size - position));
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                AnalysisResult result;
+                int start = 0;
+                while ((result = decode(window, position, size)) != null) {
+                    sink.accept(result);
+                    start = window.position();
+                    count++;
+                }
+                if (start == 0) { //The first record doesn't fit in the window
+                    if (window.capacity() == size - position)
+                        throw new IOException("The results end in the middle of a record at byte " + position);
+                    if (windowBytes == Integer.MAX_VALUE)
+                        throw new IOException("The record at byte " + position + " is too large to map");
+                    windowBytes = (int) Math.min(Integer.MAX_VALUE, 2L * windowBytes);
+                    continue;
+                }
+                position += start;
+                windowBytes = _windowBytes;
+            }
+            return count;
+        }
+    }
+
+    /*
+     * Decodes the result record at the position of a little-endian buffer mapped at the given position of a file of the
+     * given size, and advances past it. Returns null and leaves the position if the buffer doesn't hold the whole record.
+     * Throws IOException if a count of the record is negative or exceeds the rest of the file, before allocating.
+     */
+    private static AnalysisResult decode(ByteBuffer in, long windowStart, long fileSize) throws IOException {
+        int start = in.position();
+        if (in.remaining() < 2 * FIELD_BYTES)
+            return null;
+        long index = in.getLong();
+        long rootCount = readCount(in, 1, windowStart, fileSize);
+        if (in.remaining() < (rootCount + 1) * FIELD_BYTES) {
+            in.position(start);
+            return null;
+        }
+        double[] roots = new double[(int) rootCount];
+        in.asDoubleBuffer().get(roots);
+        in.position(in.position() + roots.length * FIELD_BYTES);
+
+        Point[] extremaPoints = decodePoints(in, false, windowStart, fileSize);
+        Point[] inflectionPoints = extremaPoints == null ? null : decodePoints(in, true, windowStart, fileSize);
+        if (inflectionPoints == null) {
+            in.position(start);
+            return null;
+        }
+        return new AnalysisResult(index, null, roots, extremaPoints, inflectionPoints);
+    }
+
+    //Decodes a count followed by that many points, or returns null if the buffer doesn't hold them
+    private static Point[] decodePoints(ByteBuffer in, boolean inflections, long windowStart, long fileSize)
+            throws IOException {
+        if (in.remaining() < FIELD_BYTES)
+            return null;
+        long count = readCount(in, 3, windowStart, fileSize);
+        if (in.remaining() < 3 * count * FIELD_BYTES)
+            return null;
+        Point[] points = new Point[(int) count];
+        for (int i = 0; i < count; i++) {
+            double x = in.getDouble(), val = in.getDouble();
+            boolean flag = in.getLong() != 0;
+            points[i] = inflections ? new inflectionPoint(x, val, flag) : new extremumPoint(x, val, flag);
+        }
+        return points;
+    }
+
+    /*
+     * Reads the count of the entries of a record, each of the given number of fields, and checks that it's nonnegative
+     * and the entries fit in the rest of the file
+     */
+    private static long readCount(ByteBuffer in, int fields, long windowStart, long fileSize) throws IOException {
+        long offset = windowStart + in.position(), count = in.getLong();
+        if (count < 0 || count > (fileSize - offset - FIELD_BYTES) / FIELD_BYTES / fields)
+            throw new IOException("Invalid count " + count + " at byte " + offset + " of the results");
+        return count;
+    }
+
+    /*
+     * Writes result records to a file through mapped windows, mapping the next window when a record doesn't fit.
+     * Called by one thread at a time.
+     */
+    private final class ResultWriter {
+        private final FileChannel _channel;
+        private MappedByteBuffer _window;
+        private long _windowStart; //Position of the window in the file
+
+        ResultWriter(FileChannel channel) throws IOException {
+            _channel = channel;
+            _window = map(0, _windowBytes);
+        }
+
+        //Writes the record of a result
+        void write(long index, AnalysisResult result) {
+            Point[] extremaPoints = result.getExtremaPoints(), inflectionPoints = result.getInflectionPoints();
+            double[] roots = result.getRoots();
+            ensure((3 + roots.length + 3 * (extremaPoints.length + inflectionPoints.length) + 1) * (long) FIELD_BYTES);
+            _window.putLong(index);
+            _window.putLong(roots.length);
+            for (double root : roots)
+                _window.putDouble(root);
+            _window.putLong(extremaPoints.length);
+            for (Point point : extremaPoints) {
+                _window.putDouble(point.getX()).putDouble(point.getVal());
+                _window.putLong(((extremumPoint) point).isMin() ? 1 : 0);
+            }
+            _window.putLong(inflectionPoints.length);
+            for (Point point : inflectionPoints) {
+                _window.putDouble(point.getX()).putDouble(point.getVal());
+                _window.putLong(((inflectionPoint) point).isDownToUp() ? 1 : 0);
+            }
+        }
+
+        //Maps the next window if the current one can't hold the given number of bytes
+        private void ensure(long bytes) {
+            if (_window.remaining() >= bytes)
+                return;
+            if (bytes > Integer.MAX_VALUE)
+                throw new IllegalStateException("A result of " + bytes + " bytes is too large to map");
+            try {
+                _windowStart += _window.position();
+                _window = map(_windowStart, Math.max(_windowBytes, (int) bytes));
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't map the output file", e);
+            }
+        }
+
+        //Maps a window of the output file, which grows the file as needed
+        private MappedByteBuffer map(long position, int size) throws IOException {
+            MappedByteBuffer window = _channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            return window;
+        }
+
+        //Forces the results to the file and cuts off the unused part of the last window
+        void finish() throws IOException {
+            long end = _windowStart + _window.position();
+            _window.force();
+            _window = null;
+            _channel.truncate(end);
+        }
+    }
+}
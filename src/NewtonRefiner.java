@@ -0,0 +1,59 @@
+/**
+ * This class approximates roots by Newton's method safeguarded by bisection. Every step is checked against the
+ * bracketing interval, which shrinks with every evaluation, and a bisection step is taken whenever Newton's step
+ * would leave the interval or doesn't shrink it fast enough. Converges quadratically near simple roots.
+ * @author Asquator
+ * @version 0.1
+ */
+public class NewtonRefiner implements RootRefiner {
+
+    /**
+     * Approximates a root in an interval with opposite signs of the polynomial in the endpoints
+     * @param polynomial the polynomial to approximate the root of
+     * @param a the a endpoint
+     * @param b the b endpoint
+     * @param valA the value of the polynomial at a
+     * @param valB the value of the polynomial at b, of the opposite sign to valA
+     * @param error the desired accuracy
+     * @return the root approximation
+     */
+    public double refine(Polynomial polynomial, double a, double b, double valA, double valB, double error) {
+        if (valA > 0) { //Orienting the interval so that the polynomial is negative at lo
+            double temp = a;
+            a = b;
+            b = temp;
+        }
+        double lo = a, hi = b; //The polynomial is negative at lo and positive at hi
+        double x = Math.abs(valA) < Math.abs(valB) ? lo : hi; //Starting from the endpoint with the smaller value
+        double[] valDeriv = new double[3]; //The value, the derivative and the bound on the rounding error of the value
+        double step = Math.abs(hi - lo), prevStep = step;
+        polynomial.calcAtWithDerivativeAndBound(x, valDeriv);
+
+        while (Math.abs(hi - lo) >= error) {
+            double val = valDeriv[0], deriv = valDeriv[1];
+            double newton = x - val / deriv;
+            if (deriv == 0 || !((newton - lo) * (newton - hi) < 0) || Math.abs(2 * val) > Math.abs(prevStep * deriv)) {
+                prevStep = step; //Bisection, Newton's step leaves the interval or doesn't shrink it fast enough
+                step = (hi - lo) / 2;
+                x = lo + step;
+            } else {
+                prevStep = step;
+                step = val / deriv;
+                x = newton;
+            }
+            if (Math.abs(step) < error / 2) //Newton's method converged
+                return x;
+
+            polynomial.calcAtWithDerivativeAndBound(x, valDeriv);
+            //The bracket is kept by a certified sign, taken from the value unless it's within its rounding error
+            int sign = Math.abs(valDeriv[0]) > valDeriv[2] ? (int) Math.signum(valDeriv[0]) : polynomial.signAt(x);
+            if (sign == 0)
+                return x;
+            if (sign < 0)
+                lo = x;
+            else
+                hi = x;
+        }
+        return (lo + hi) / 2;
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class finds the real roots of a polynomial in an interval in parallel. The interval is split recursively into
+ * subintervals that are isolated by separate fork/join tasks, until a subinterval holds at most one root, is narrower
+ * than the cutoff width, or the polynomial has too low degree to be worth splitting. The results are merged in order.
+ * The search is narrowed to the root bound of the polynomial like in {@link SturmRootFinder}.
+ * @author Asquator
+ * @version 0.1
+ */
+public class ParallelRootFinder implements RootFinder {
+    /**Default minimal degree to split the work at*/
+    public static final int DEFAULT_MIN_DEGREE = 8;
+    private final ForkJoinPool _pool;
+    private final double _cutoffWidth; //Subintervals narrower than that are isolated sequentially
+    private final int _minDegree; //Polynomials of lower degrees are isolated sequentially
+    private final SturmRootFinder _sequential;
+
+    /**
+     * Constructs a root finder running in the common pool with the default cutoffs
+     */
+    public ParallelRootFinder() {
+        this(ForkJoinPool.commonPool(), 0, DEFAULT_MIN_DEGREE, RootRefiner.DEFAULT);
+    }
+
+    /**
+     * Constructs a root finder
+     * @param pool the pool to run the tasks in
+     * @param cutoffWidth the width of a subinterval under which it's isolated sequentially
+     * @param minDegree the minimal degree of a polynomial to split the work at
+     * @param refiner the strategy to approximate the isolated roots with
+     */
+    public ParallelRootFinder(ForkJoinPool pool, double cutoffWidth, int minDegree, RootRefiner refiner) {
+        _pool = pool;
+        _cutoffWidth = cutoffWidth;
+        _minDegree = minDegree;
+        _sequential = new SturmRootFinder(refiner);
+    }
+
+    /**
+     * Finds all distinct real roots of a polynomial in the closed interval [min, max]
+     * @param polynomial a polynomial which is not the zero polynomial
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    public double[] findRoots(Polynomial polynomial, double min, double max, double error) {
+        if (polynomial.getDegree() < _minDegree)
+            return _sequential.findRoots(polynomial, min, max, error);
+        if (polynomial.isConst() || !new Interval(min, max).isValid())
+            return new double[0];
+        if (polynomial.getRootBound() == 0) //A monomial, its only root 0 would underflow on the narrowed interval
+            return min <= 0 && max >= 0 ? new double[]{0.0} : new double[0];
+        //The roots are inside the root bound, so none of them is on the enlarged bound. The bound is enlarged unevenly,
+        //so the middle of the narrowed interval isn't 0, a frequent root where the sequence may vanish altogether.
+        double bound = Math.nextUp(polynomial.getRootBound()), a = Math.max(min, -bound), b = Math.min(max, bound * SturmRootFinder.BOUND_SKEW);
+        if (!(a < b) || polynomial.excludesRoots(a, b, new double[2]))
+            return new double[0];
+
+        SturmSequence sturm = new SturmSequence(polynomial);
+        double[] roots = _pool.invoke(new IsolationTask(polynomial, sturm, a, b, //Counted like in SturmRootFinder
+                SturmRootFinder.signChanges(sturm, a, a > min, false), SturmRootFinder.signChanges(sturm, b, b < max, true), error));
+
+        if (polynomial.signAt(a) == 0) { //Sturm's theorem counts the roots in (a, b] only
+            double[] withMin = new double[roots.length + 1];
+            withMin[0] = a;
+            System.arraycopy(roots, 0, withMin, 1, roots.length);
+            roots = withMin;
+        }
+        return SturmRootFinder.roundRoots(roots, roots.length, error, polynomial.getRounding());
+    }
+
+    /*
+     * Isolates the roots in a subinterval (a, b], returning them in ascending order. The tasks live only inside one
+     * invocation of the pool and are never serialized, although ForkJoinTask is Serializable.
+     */
+    @SuppressWarnings("serial")
+    private class IsolationTask extends RecursiveTask<double[]> {
+        private final Polynomial _polynomial;
+        private final SturmSequence _sturm;
+        private final double _a, _b, _error;
+        private final int _aChanges, _bChanges;
+
+        IsolationTask(Polynomial polynomial, SturmSequence sturm, double a, double b, int aChanges, int bChanges, double error) {
+            _polynomial = polynomial;
+            _sturm = sturm;
+            _a = a;
+            _b = b;
+            _aChanges = aChanges;
+            _bChanges = bChanges;
+            _error = error;
+        }
+
+        protected double[] compute() {
+            int count = _aChanges - _bChanges;
+            if (count <= 0)
+                return new double[0];
+
+            double middle = (_a + _b) / 2;
+            if (count == 1 || _b - _a <= _cutoffWidth || _b - _a < _error || middle <= _a || middle >= _b) {
+                double[] roots = new double[count];
+                int rootCounter = _sequential.isolate(_polynomial, _sturm, _a, _b, _aChanges, _bChanges, _error, roots, 0);
+                return rootCounter == count ? roots : Arrays.copyOf(roots, rootCounter);
+            }
+
+            int middleChanges = _sturm.signChanges(middle);
+            IsolationTask left = new IsolationTask(_polynomial, _sturm, _a, middle, _aChanges, middleChanges, _error);
+            IsolationTask right = new IsolationTask(_polynomial, _sturm, middle, _b, middleChanges, _bChanges, _error);
+            left.fork();
+            double[] rightRoots = right.compute();
+            double[] leftRoots = left.join();
+
+            //The roots of the left half are smaller than the roots of the right half
+            double[] roots = new double[leftRoots.length + rightRoots.length];
+            System.arraycopy(leftRoots, 0, roots, 0, leftRoots.length);
+            System.arraycopy(rightRoots, 0, roots, leftRoots.length, rightRoots.length);
+            return roots;
+        }
+    }
+}
@@ -1,26 +1,37 @@
-import java.text.DecimalFormat;
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * This class represents a polynomial with real coefficients
+ * This class represents a polynomial with real coefficients. Polynomials are immutable, so the derivative and the
+ * results of the analysis (roots, extrema and inflection points) are computed once and cached.
  * @author Asquator
  * @version 0.1
  */
-public class Polynomial {
+public class Polynomial implements UnivariatePolynomial {
     private static final double STANDARD_Y_ERROR = 1e-14;
     public static final double STANDARD_X_ERROR = 1e-5;
-    private char _variable = 'x'; //_variable in string representation
-    private double[] _coefficients;  //Coefficients array
+    /**Size of a remainder coefficient treated as zero by the approximate GCD, relative to the terms cancelled out in it*/
+    public static final double STANDARD_GCD_TOLERANCE = 1e-10;
+    private static final int ESTRIN_MIN_LENGTH = 8; //Minimal number of coefficients to use Estrin's scheme with
+    private static final int MAX_CACHED_RESULTS = 32; //Maximal number of cached analysis results per polynomial
+    private static final int ROOTS = 0, EXTREMA = 1, INFLECTIONS = 2; //Kinds of cached analysis results
+    private final char _variable; //_variable in string representation
+    private final double[] _coefficients;  //Coefficients array, never modified after construction
+    private final Rounding _rounding; //Rounding of the coordinates of the roots and the critical points
+    private volatile Polynomial _derivative; //The derivative, computed on the first request
+    private volatile RootIndex _rootIndex; //The index of the real roots, built on the first request
+    private volatile Map<AnalysisKey, Object> _analysisCache; //Analysis results, created on the first request
+    private static volatile AnalysisCache _sharedCache; //Analysis results shared by all polynomials, null if disabled
 
     /**
      * Constructs a polynomial from a list of coefficients
      * @param coef An array of coefficients
      */
     public Polynomial(double... coef) {
-        _coefficients = new double[coef.length];
-        for (int i = 0; i < coef.length; i++)
-            _coefficients[i] = coef[i];
-        reduce();
+        this('x', coef);
     }
 
     /**
@@ -29,8 +40,7 @@ public class Polynomial {
      * @param coef An array of coefficients
      */
     public Polynomial(char variable, double... coef) {
-        this(coef);
-        _variable = variable;
+        this(variable, Rounding.DEFAULT, reduce(coef));
     }
 
     /**
@@ -38,43 +48,42 @@ public class Polynomial {
      * @param other A polynomial to copy from
      */
     public Polynomial(Polynomial other) {
-        _coefficients = new double[other._coefficients.length];
-        for (int i = 0; i < other._coefficients.length; i++)
-            _coefficients[i] = other._coefficients[i];
-        reduce();
+        this(other._variable, other._rounding, other._coefficients); //Safe to share, the array is never modified
     }
 
-    /*
-     * Rounds given value to required decimal places according to the given value
-     * Used to round values of derivative or the x coordinates of roots
-     */
-    private static double roundVal(double val, double error) {
-        DecimalFormat df;
-        String format = ".";
-        for (int dec = 0; Math.pow(10, -dec) > error; dec++)
-            format += "#";
-        df = new DecimalFormat(format);
-        return Double.parseDouble(df.format(val));
+    //Constructs a polynomial from a reduced array of coefficients, which is not copied
+    private Polynomial(char variable, Rounding rounding, double[] coefficients) {
+        _variable = variable;
+        _rounding = rounding;
+        _coefficients = coefficients;
     }
 
-    //Reduces the array of coefficients to discard the tail of zeroes
-    private void reduce() {
-        if (!isConst()) {
-            int newDeg = getDegree(); //degree after reduction
-            for (int i = _coefficients.length - 1; i >= 0 && _coefficients[i] == 0; i--) {  //Searching the first nonzero coefficient
-                newDeg = i - 1;
-            }
+    /**
+     * Returns an equal polynomial that rounds the coordinates of its roots, extrema and inflection points with the
+     * given rounding. The derivatives inherit the rounding.
+     * @param rounding the rounding to use
+     * @return a polynomial with the same coefficients and the given rounding
+     */
+    public Polynomial withRounding(Rounding rounding) {
+        if (rounding == null)
+            throw new IllegalArgumentException("The rounding must not be null");
+        return rounding == _rounding ? this : new Polynomial(_variable, rounding, _coefficients);
+    }
 
-            if (newDeg < _coefficients.length) {
-                double[] newCoef; //new array of coefficients
-                newCoef = new double[newDeg + 1]; //initializing the new array of coefficients
-                for (int i = 0; i < newDeg + 1; i++) { //filling the array
-                    newCoef[i] = _coefficients[i];
-                }
-                _coefficients = newCoef;
+    /**
+     * Returns the rounding of the coordinates of the roots, extrema and inflection points
+     * @return the rounding of the polynomial
+     */
+    public Rounding getRounding() {
+        return _rounding;
+    }
 
-            }
-        }
+    //Copies the array of coefficients, discarding the tail of zeroes
+    private static double[] reduce(double[] coef) {
+        int newDeg = coef.length - 1; //degree after reduction
+        while (newDeg > 0 && coef[newDeg] == 0) //Searching the first nonzero coefficient
+            newDeg--;
+        return Arrays.copyOf(coef, Math.max(newDeg, 0) + 1);
     }
 
 
@@ -89,11 +98,38 @@ public class Polynomial {
     }
 
     /**
-     * Returns the array of coefficients
+     * Returns the number of nonzero coefficients
+     * @return the number of nonzero terms
+     */
+    public int getTermCount() {
+        int count = 0;
+        for (double c : _coefficients)
+            if (c != 0)
+                count++;
+        return count;
+    }
+
+    /**
+     * Returns the variable used in the string representation
+     * @return the variable of the polynomial
+     */
+    public char getVariable() {
+        return _variable;
+    }
+
+    /**
+     * Returns a copy of the array of coefficients
      *
      * @return the array of coefficients
      */
     public double[] getCoef() {
+        return _coefficients.clone();
+    }
+
+    /*
+     * Returns the internal array of coefficients without copying it, for read-only use inside the package
+     */
+    double[] coefficients() {
         return _coefficients;
     }
 
@@ -124,41 +160,316 @@ public class Polynomial {
 
 
     /**
-     * This function calculates the derivative for the current polynomial
+     * This function calculates the derivative for the current polynomial. The derivative is computed once and reused.
      * @return the derivative function (polynomial)
      */
     public Polynomial getDerivative() {
+        Polynomial derivative = _derivative;
+        if (derivative == null) //A race computes equal derivatives, any of them can be kept
+            _derivative = derivative = computeDerivative();
+        return derivative;
+    }
+
+    /**
+     * Returns the index of all real roots of the polynomial, for finding the roots in many intervals, see
+     * {@link RootIndex}. The index is built once and reused.
+     * @return the root index
+     * @throws IllegalArgumentException if the polynomial is the zero polynomial
+     */
+    public RootIndex getRootIndex() {
+        RootIndex index = _rootIndex;
+        if (index == null) //A race builds equal indexes, any of them can be kept
+            _rootIndex = index = new RootIndex(this);
+        return index;
+    }
+
+    //Calculates the derivative of the polynomial
+    private Polynomial computeDerivative() {
         if (!isConst()) {
             double[] derivativeCoef = new double[_coefficients.length - 1];
             for (int i = 0; i < _coefficients.length - 1; i++)
                 derivativeCoef[i] = (i + 1) * _coefficients[i + 1];
-            return new Polynomial(derivativeCoef);
+            return new Polynomial(_variable, _rounding, reduce(derivativeCoef));
         }
-        return new Polynomial(0);
+        return new Polynomial(_variable, _rounding, new double[]{0});
     }
 
 
     /**
-     * Calculate the value of a polynomial in x
+     * Calculate the value of a polynomial in x using Horner's scheme
      * @param x the value to calculate in
+     * @return the value of the polynomial in x
      */
     public double calcAt(double x) {
         double val = 0;
-        for (int i = 0; i < _coefficients.length; i++) {
-            val += _coefficients[i] * Math.pow(x, i);
+        for (int i = _coefficients.length - 1; i >= 0; i--)
+            val = val * x + _coefficients[i];
+        return val;
+    }
+
+    /**
+     * Calculate the value of a polynomial in x using Estrin's scheme on blocks of four coefficients, which are then
+     * combined by Horner's scheme in x^4. The independent block products expose more instruction-level parallelism
+     * than plain Horner, which pays off for high degrees.
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    public double calcAtEstrin(double x) {
+        if (_coefficients.length < ESTRIN_MIN_LENGTH)
+            return calcAt(x);
+
+        double x2 = x * x, x4 = x2 * x2;
+        int i = _coefficients.length & ~3; //Start of the last (incomplete) block
+        double val = 0;
+        for (int j = _coefficients.length - 1; j >= i; j--) //Horner on the incomplete block
+            val = val * x + _coefficients[j];
+
+        for (i -= 4; i >= 0; i -= 4) {
+            double low = _coefficients[i] + _coefficients[i + 1] * x;
+            double high = _coefficients[i + 2] + _coefficients[i + 3] * x;
+            val = val * x4 + (low + high * x2);
         }
         return val;
     }
 
+    /**
+     * Calculate the value of a polynomial in x with a certified sign, for decisions by the sign of the polynomial near
+     * its roots. The value of Horner's scheme is returned when its rounding error bound proves the sign, which is the
+     * case almost everywhere; otherwise the value is computed more accurately, see {@link CertifiedEvaluator}.
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x, zero only at the roots and otherwise of the sign of the exact value
+     */
+    public double calcAtCertified(double x) {
+        return CertifiedEvaluator.calcAt(_coefficients, x);
+    }
+
+    /**
+     * Returns the exact sign of the polynomial in x
+     * @param x the value to calculate in
+     * @return -1, 0 or 1 as the polynomial is negative, zero or positive in x
+     */
+    public int signAt(double x) {
+        return (int) Math.signum(calcAtCertified(x));
+    }
+
+    /**
+     * Calculate the value of a polynomial in x using the compensated Horner scheme, which is as accurate as Horner's
+     * scheme in twice the working precision
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    public double calcAtCompensated(double x) {
+        return CertifiedEvaluator.compensated(_coefficients, x);
+    }
+
+    /**
+     * Builds an evaluation plan specialized for the degree and the coefficients of the polynomial, for polynomials
+     * evaluated many times, see {@link PolynomialCompiler}
+     * @return the evaluation plan
+     */
+    public CompiledPolynomial compile() {
+        return PolynomialCompiler.compile(_coefficients, false);
+    }
+
+    /**
+     * Builds an evaluation plan specialized for the degree and the coefficients of the polynomial
+     * @param precondition whether to precondition the coefficients to save multiplications where it keeps the rounding
+     * errors bounded, see {@link PolynomialCompiler}
+     * @return the evaluation plan
+     */
+    public CompiledPolynomial compile(boolean precondition) {
+        return PolynomialCompiler.compile(_coefficients, precondition);
+    }
+
+    /**
+     * Converts the polynomial to the Chebyshev basis over an interval, which is better conditioned there for high
+     * degrees, see {@link ChebyshevPolynomial}
+     * @param domain the interval the basis is mapped to
+     * @return the polynomial in the Chebyshev basis
+     */
+    public ChebyshevPolynomial toChebyshev(Interval domain) {
+        return ChebyshevPolynomial.fromPolynomial(this, domain);
+    }
+
+    /**
+     * Calculate the value of the polynomial and of its derivative in x in a single Horner pass
+     * @param x the value to calculate in
+     * @param out an array of at least 2 elements; receives the value at out[0] and the derivative at out[1]
+     */
+    public void calcAtWithDerivative(double x, double[] out) {
+        double val = 0, deriv = 0;
+        for (int i = _coefficients.length - 1; i >= 0; i--) {
+            deriv = deriv * x + val;
+            val = val * x + _coefficients[i];
+        }
+        out[0] = val;
+        out[1] = deriv;
+    }
+
+    /*
+     * Calculates the value and the derivative of the polynomial in x like calcAtWithDerivative, with the running bound
+     * of CertifiedEvaluator in the same pass. The bound on the rounding error of the value is stored at out[2], so the
+     * sign of the value is certified if its magnitude exceeds it.
+     */
+    void calcAtWithDerivativeAndBound(double x, double[] out) {
+        double val = 0, deriv = 0, runningBound = 0, absX = Math.abs(x);
+        for (int i = _coefficients.length - 1; i >= 0; i--) {
+            deriv = deriv * x + val;
+            val = val * x + _coefficients[i];
+            runningBound = runningBound * absX + Math.abs(val);
+        }
+        out[0] = val;
+        out[1] = deriv;
+        out[2] = CertifiedEvaluator.hornerBound(val, runningBound, _coefficients.length - 1);
+    }
+
+    /**
+     * Returns an interval enclosing the values of the polynomial over an interval, computed in interval arithmetic with
+     * outward rounding. The enclosure is the intersection of Horner's scheme over the interval, which is tight away from
+     * the roots, and the mean value form p(m) + p'(X)(X - m) around the middle m, which is tight on narrow intervals.
+     * An enclosure without zero proves that the polynomial has no roots in the interval.
+     * @param interval the interval to enclose the values over
+     * @return an interval containing the values of the polynomial over the given interval
+     */
+    public Interval rangeOver(Interval interval) {
+        double[] range = new double[2];
+        rangeOver(interval.getA(), interval.getB(), range);
+        return new Interval(range[0], range[1]);
+    }
+
+    /**
+     * Returns Fujiwara's bound on the roots, 2 max(|c(n-1)/c(n)|, |c(n-2)/c(n)|^(1/2), ..., |c(0)/(2c(n))|^(1/n)), with
+     * every term rounded up to a power of two. All complex roots lie in the closed disk of that radius around the origin.
+     * The rounding makes the bound at most twice larger, exactly and without computing roots of the ratios.
+     * @return the bound on the magnitudes of the roots, 0 for a nonzero constant and infinity for the zero polynomial
+     */
+    public double getRootBound() {
+        if (isZero())
+            return Double.POSITIVE_INFINITY;
+        int n = _coefficients.length - 1, maxExponent = Integer.MIN_VALUE;
+        double leading = Math.abs(_coefficients[n]);
+        for (int k = 1; k <= n; k++) {
+            double ratio = Math.abs(_coefficients[n - k]) / leading;
+            if (ratio != 0) {
+                //The ratio is below 2^(e+1), the last one is halved, so its k-th root is below 2^ceil((e+1)/k)
+                int exponent = Math.getExponent(ratio) + (k == n ? 0 : 1);
+                maxExponent = Math.max(maxExponent, -Math.floorDiv(-exponent, k));
+            }
+        }
+        return maxExponent == Integer.MIN_VALUE ? 0 : Math.scalb(2.0, maxExponent);
+    }
+
+    /*
+     * Encloses the values of the polynomial over [a, b] in [range[0], range[1]], or in the whole line if the enclosure
+     * overflows
+     */
+    void rangeOver(double a, double b, double[] range) {
+        double[] coef = _coefficients;
+        int n = coef.length - 1;
+        //Horner's scheme over [a, b] for the value and the derivative, every rounding directed outwards
+        double valLow = coef[n], valHigh = valLow, derivLow = 0, derivHigh = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            double productLow = lowerProduct(derivLow, derivHigh, a, b), productHigh = upperProduct(derivLow, derivHigh, a, b);
+            derivLow = Math.nextDown(productLow + valLow);
+            derivHigh = Math.nextUp(productHigh + valHigh);
+            productLow = lowerProduct(valLow, valHigh, a, b);
+            productHigh = upperProduct(valLow, valHigh, a, b);
+            valLow = Math.nextDown(productLow + coef[i]);
+            valHigh = Math.nextUp(productHigh + coef[i]);
+        }
+
+        //The value at the middle, with a bound on its rounding error of 2n roundings of relative size 2^-53
+        double middle = (a + b) / 2, absMiddle = Math.abs(middle), val = 0, absVal = 0;
+        for (int i = n; i >= 0; i--) {
+            val = val * middle + coef[i];
+            absVal = absVal * absMiddle + Math.abs(coef[i]);
+        }
+        double radius = Math.nextUp(Math.max(middle - a, b - middle));
+        double slope = Math.max(Math.abs(derivLow), Math.abs(derivHigh));
+        double spread = Math.nextUp(Math.nextUp(absVal * (2 * n + 4) * 0x1p-53 + Double.MIN_NORMAL) + Math.nextUp(slope * radius));
+
+        range[0] = Math.max(valLow, Math.nextDown(val - spread));
+        range[1] = Math.min(valHigh, Math.nextUp(val + spread));
+        if (Double.isNaN(range[0]) || Double.isNaN(range[1])) {
+            range[0] = Double.NEGATIVE_INFINITY;
+            range[1] = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    //Returns a lower bound of the product of the intervals [low, high] and [a, b]
+    private static double lowerProduct(double low, double high, double a, double b) {
+        return Math.nextDown(Math.min(Math.min(low * a, low * b), Math.min(high * a, high * b)));
+    }
+
+    //Returns an upper bound of the product of the intervals [low, high] and [a, b]
+    private static double upperProduct(double low, double high, double a, double b) {
+        return Math.nextUp(Math.max(Math.max(low * a, low * b), Math.max(high * a, high * b)));
+    }
+
+    /*
+     * Checks whether the polynomial provably has no roots in [a, b], given scratch space of 2 elements
+     */
+    boolean excludesRoots(double a, double b, double[] range) {
+        rangeOver(a, b, range);
+        return range[0] > 0 || range[1] < 0;
+    }
+
+    /**
+     * Calculate the values of the polynomial in all the given points without allocating memory
+     * @param xs the points to calculate in
+     * @param out an array to write the values to, at least as long as xs
+     */
+    public void calcAt(double[] xs, double[] out) {
+        calcAt(xs, 0, out, 0, xs.length);
+    }
+
+    /**
+     * Calculate the values of the polynomial in a range of points without allocating memory.
+     * Runs a scalar loop, or on SIMD lanes if enabled, see {@link BatchEvaluator#DEFAULT}.
+     * @param xs the points to calculate in
+     * @param xsOffset the index of the first point in xs
+     * @param out an array to write the values to
+     * @param outOffset the index in out to write the first value to
+     * @param length the number of points to calculate
+     */
+    public void calcAt(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (length < 0 || xsOffset < 0 || outOffset < 0 || xsOffset + length > xs.length || outOffset + length > out.length)
+            throw new IndexOutOfBoundsException("Invalid range of points");
+
+        BatchEvaluator.DEFAULT.calcAt(_coefficients, xs, xsOffset, out, outOffset, length);
+    }
+
+    /**
+     * Calculate the values of the polynomial in the remaining points of a buffer without allocating memory.
+     * Reads all the remaining points of xs and writes the values to out, advancing the positions of both buffers.
+     * @param xs a buffer of points to calculate in
+     * @param out a buffer to write the values to, with at least xs.remaining() elements remaining
+     */
+    public void calcAt(DoubleBuffer xs, DoubleBuffer out) {
+        int length = xs.remaining();
+        if (out.remaining() < length)
+            throw new BufferOverflowException();
+
+        if (xs.hasArray() && out.hasArray() && !out.isReadOnly()) { //Both buffers are backed by arrays
+            calcAt(xs.array(), xs.arrayOffset() + xs.position(), out.array(), out.arrayOffset() + out.position(), length);
+            xs.position(xs.position() + length);
+            out.position(out.position() + length);
+        } else {
+            while (xs.hasRemaining())
+                out.put(calcAt(xs.get()));
+        }
+    }
+
     /**
      * Performs addition of polynomials
      * @param other A polynomial to add
+     * @return the sum
      */
     public Polynomial add(Polynomial other) {
         int deg = getDegree(), otherDeg = other.getDegree(); //Degrees of 2 polynomials
         int maxDeg = Math.max(deg, otherDeg); //Maximum degree of the sum
 
-        double[] newCoef = new double[maxDeg];
+        double[] newCoef = new double[Math.max(maxDeg, 0) + 1];
         for (int i = 0; i <= deg; i++) {
             newCoef[i] = _coefficients[i];
         }
@@ -167,107 +478,291 @@ public class Polynomial {
             newCoef[i] += other._coefficients[i];
         }
         var newPolynomial = new Polynomial(newCoef);
-        newPolynomial.reduce();
         return newPolynomial;
     }
 
+    /**
+     * Adds a polynomial in either representation to the polynomial
+     * @param other the polynomial to add, a {@link Polynomial} or a {@link SparsePolynomial}
+     * @return the sum, densely stored if the other polynomial is, otherwise in the representation preferred for its
+     * fill ratio
+     * @throws IllegalArgumentException if the other polynomial is of another implementation
+     */
+    public UnivariatePolynomial add(UnivariatePolynomial other) {
+        if (other instanceof Polynomial)
+            return add((Polynomial) other);
+        if (other instanceof SparsePolynomial)
+            return other.add(this);
+        throw new IllegalArgumentException("Can't add a polynomial of " + other.getClass().getName());
+    }
 
-    //Analytical section
 
+    /**
+     * Performs subtraction of polynomials
+     * @param other A polynomial to subtract
+     * @return the difference
+     */
+    public Polynomial subtract(Polynomial other) {
+        int deg = getDegree(), otherDeg = other.getDegree(); //Degrees of 2 polynomials
+        double[] newCoef = new double[Math.max(Math.max(deg, otherDeg), 0) + 1];
+        for (int i = 0; i <= deg; i++)
+            newCoef[i] = _coefficients[i];
+        for (int i = 0; i <= otherDeg; i++)
+            newCoef[i] -= other._coefficients[i];
+        return new Polynomial(newCoef);
+    }
+
+    /**
+     * Multiplies the polynomial by a scalar
+     * @param scalar A scalar to multiply by
+     * @return the product
+     */
+    public Polynomial scale(double scalar) {
+        double[] newCoef = new double[_coefficients.length];
+        for (int i = 0; i < _coefficients.length; i++)
+            newCoef[i] = scalar * _coefficients[i];
+        return new Polynomial(newCoef);
+    }
 
-    /*
-     * Input: interval endpoints and the desired accuracy (epsilon)
-     * Returns one interval with opposite signs of polynom in the endpoints, which must be a subset of [min, max]
-     */
-
-    private Interval searchIntervalOppSign(double min, double max, double epsilon) {
-        double middle;
-        Interval firstIntervalResult;
-        if (calcAt(min) * calcAt(max) < 0) //An interval was found
-            return new Interval(min, max);
-        if (Math.abs(max - min) < epsilon) //The lengths are less than EPSILON and no interval was found
-            return new Interval();
-        //No interval found, the search continues
-        middle = (min + max) / 2;
-        firstIntervalResult = searchIntervalOppSign(min, middle, epsilon);
-        if (firstIntervalResult.isValid()) //Found interval in the first half
-            return firstIntervalResult;
-        else
-            return searchIntervalOppSign(middle, max, epsilon);
+    /**
+     * Performs multiplication of polynomials. The algorithm is chosen by the degrees: schoolbook for low degrees,
+     * Karatsuba's algorithm for medium ones and the fast Fourier transform for high ones (see {@link Convolution}).
+     * @param other A polynomial to multiply by
+     * @return the product
+     */
+    public Polynomial multiply(Polynomial other) {
+        if (isZero() || other.isZero())
+            return new Polynomial(0);
+        return new Polynomial(Convolution.multiply(_coefficients, other._coefficients));
     }
 
-    /*
-     * Wrapper function for searchIntervalOppSign()
+    /**
+     * Performs composition of polynomials, using Horner's scheme with polynomial multiplication
+     * @param inner A polynomial to substitute for the variable
+     * @return the composition p(inner(x))
      */
-    private Interval searchIntervalOppSign(Interval interval, double epsilon) {
-        return searchIntervalOppSign(interval.getA(), interval.getB(), epsilon);
+    public Polynomial compose(Polynomial inner) {
+        Polynomial result = new Polynomial(_coefficients[_coefficients.length - 1]);
+        for (int i = _coefficients.length - 2; i >= 0; i--)
+            result = result.multiply(inner).add(new Polynomial(_coefficients[i]));
+        return result;
     }
 
-    /*
-     * Input: a valid interval with opposite signs of the polynom in endpoints
-     * Returns a root approximation in a given interval with given error
+    /**
+     * Raises the polynomial to a power by repeated squaring
+     * @param exponent A nonnegative exponent
+     * @return the polynomial raised to the power
+     * @throws IllegalArgumentException if the exponent is negative
      */
-    private double approxRootOppSign(double min, double max, double error) {
-        double midPoint = (min + max) / 2;
-        if (Math.abs(max - min) < error || calcAt(midPoint) == 0) //An approximation was found
-            return midPoint;
+    public Polynomial pow(int exponent) {
+        if (exponent < 0)
+            throw new IllegalArgumentException("Negative exponent: " + exponent);
+        Polynomial result = new Polynomial(1), base = this;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1)
+                result = result.multiply(base);
+            exponent >>= 1;
+            if (exponent > 0)
+                base = base.multiply(base);
+        }
+        return result;
+    }
 
-        else if (calcAt(min) * calcAt(midPoint) < 0) //Opposite signs at min and middle points
-            return approxRootOppSign(min, midPoint, error);
 
-        else
-            return approxRootOppSign(midPoint, max, error); //Opposite signs at middle and maximum points
+    /**
+     * Performs long division of polynomials
+     * @param divisor A polynomial to divide by
+     * @return an array with two polynomials: the quotient and the remainder
+     * @throws ArithmeticException if the divisor is the zero polynomial
+     */
+    public Polynomial[] divide(Polynomial divisor) {
+        if (divisor.isZero())
+            throw new ArithmeticException("Division by the zero polynomial");
+        int divDeg = divisor.getDegree();
+        if (getDegree() < divDeg)
+            return new Polynomial[]{new Polynomial(0), new Polynomial(this)};
+
+        double[] rem = _coefficients.clone();
+        double[] quotient = new double[_coefficients.length - divDeg];
+        double lead = divisor._coefficients[divDeg];
+        for (int i = rem.length - 1; i >= divDeg; i--) { //Eliminating the leading coefficients one by one
+            double q = rem[i] / lead;
+            quotient[i - divDeg] = q;
+            for (int j = 0; j <= divDeg; j++)
+                rem[i - divDeg + j] -= q * divisor._coefficients[j];
+        }
+        return new Polynomial[]{new Polynomial(quotient), new Polynomial(Arrays.copyOf(rem, Math.max(divDeg, 1)))};
     }
 
-    /*
-     * Wrapper function for approxRootOppSign()
+    /**
+     * Returns the remainder of the division by another polynomial
+     * @param divisor A polynomial to divide by
+     * @return the remainder
+     * @throws ArithmeticException if the divisor is the zero polynomial
      */
-    private double approxRootOppSign(Interval interval, double error) {
-        return approxRootOppSign(interval.getA(), interval.getB(), error);
+    public Polynomial remainder(Polynomial divisor) {
+        return divide(divisor)[1];
     }
 
+    /**
+     * Divides the polynomial by (x - root) with synthetic division, discarding the remainder
+     * @param root A root of the polynomial to divide out
+     * @return the quotient, of degree lower by one
+     */
+    public Polynomial deflate(double root) {
+        if (isConst())
+            return new Polynomial(0);
+        double[] quotient = new double[_coefficients.length - 1];
+        double carry = 0;
+        for (int i = _coefficients.length - 1; i > 0; i--) {
+            carry = carry * root + _coefficients[i];
+            quotient[i - 1] = carry;
+        }
+        return new Polynomial(quotient);
+    }
 
-    private double[] searchRootsConstSign(double min, double max, double error) {
-        if (!isConst()) {
-            double[] derivRoots, roots = new double[getDegree()];
-            int rootCounter = 0;
-            Polynomial pln = this;
-            Polynomial derivative;
-
-            while (!pln.isConst()) {
-                derivative = pln.getDerivative();
-                derivRoots = derivative.getRoots(min, max, error);
-                for (int i = 0; i < derivRoots.length; i++) {
-                    if (Math.abs(pln.calcAt(derivRoots[i])) < STANDARD_Y_ERROR) { //Checking the value at saddle points of
-                        roots[rootCounter++] = derivRoots[i];
-                    }
-                }
-                pln = derivative;
-
-            } //just a constant remained
-            if (rootCounter > 0) { //Copying the roots to the final array
-                double[] finalRoots = new double[rootCounter];
-                for (int i = 0; i < rootCounter; i++) {
-                    finalRoots[i] = roots[i];
-                }
-                return finalRoots;
-            }
+    /**
+     * Computes the approximate greatest common divisor with the standard tolerance
+     * @param other A polynomial
+     * @return the monic greatest common divisor
+     */
+    public Polynomial gcd(Polynomial other) {
+        return gcd(other, STANDARD_GCD_TOLERANCE);
+    }
 
-        } //if constant
+    /**
+     * Computes the approximate greatest common divisor with Euclid's algorithm. A remainder coefficient is treated as
+     * zero if it's smaller than the tolerance relative to the terms cancelled out in it, which makes the algorithm
+     * robust to the rounding errors of the division steps.
+     * @param other A polynomial
+     * @param tolerance the relative size of a remainder coefficient treated as zero
+     * @return the monic greatest common divisor, the zero polynomial if both polynomials are zero
+     */
+    public Polynomial gcd(Polynomial other, double tolerance) {
+        if (isZero() && other.isZero())
+            return new Polynomial(0);
+        double[] a = _coefficients, b = other._coefficients;
+        if (getDegree() < other.getDegree()) {
+            a = other._coefficients;
+            b = _coefficients;
+        }
+        while (!(b.length == 1 && b[0] == 0)) {
+            double[] rem = remainder(normalize(a), normalize(b), tolerance);
+            a = b;
+            b = rem;
+        }
 
-        return new double[0];
+        double lead = a[a.length - 1];
+        double[] monic = new double[a.length];
+        for (int i = 0; i < a.length; i++)
+            monic[i] = a[i] / lead;
+        return new Polynomial(monic);
     }
 
+    /*
+     * Returns a copy of the coefficients scaled by a power of 2 to have the maximum absolute value in [1, 2),
+     * which is exact and doesn't change signs
+     */
+    static double[] normalize(double[] coef) {
+        double max = 0;
+        for (double c : coef)
+            max = Math.max(max, Math.abs(c));
+        double[] normalized = coef.clone();
+        if (max > 0) {
+            int exponent = Math.getExponent(max);
+            for (int i = 0; i < normalized.length; i++)
+                normalized[i] = Math.scalb(normalized[i], -exponent);
+        }
+        return normalized;
+    }
 
     /*
-     * Wrapper function for searchRootsConstSign()
+     * Returns the remainder of the division of dividend by divisor, without leading coefficients that are small
+     * relative to the terms cancelled out in them. Returns {0} if the remainder is zero.
+     */
+    static double[] remainder(double[] dividend, double[] divisor, double tolerance) {
+        int divDeg = divisor.length - 1;
+        if (dividend.length <= divDeg)
+            return dividend.clone();
+
+        double[] rem = dividend.clone();
+        double[] magnitude = new double[rem.length]; //The sum of absolute values of the terms added to every coefficient
+        for (int i = 0; i < rem.length; i++)
+            magnitude[i] = Math.abs(rem[i]);
+        double lead = divisor[divDeg];
+        for (int i = rem.length - 1; i >= divDeg; i--) { //Long division, eliminating the leading coefficients one by one
+            double q = rem[i] / lead;
+            for (int j = 0; j <= divDeg; j++) {
+                rem[i - divDeg + j] -= q * divisor[j];
+                magnitude[i - divDeg + j] += Math.abs(q * divisor[j]);
+            }
+        }
+
+        int deg = divDeg - 1;
+        while (deg >= 0 && Math.abs(rem[deg]) <= tolerance * magnitude[deg]) //Discarding the coefficients that vanished
+            deg--;
+        return deg < 0 ? new double[]{0} : Arrays.copyOf(rem, deg + 1);
+    }
+
+    /**
+     * Computes the square-free decomposition p = c * f1 * f2^2 * ... * fk^k with Yun's algorithm, using the
+     * approximate greatest common divisor. The factors are square-free and pairwise coprime, so the roots of the
+     * factor fi are exactly the roots of the polynomial of multiplicity i.
+     * @return an array of the monic factors f1, ..., fk, where the factor at index i holds the roots of multiplicity
+     * i + 1 and is the constant 1 if there are none. Empty for constants.
+     */
+    public Polynomial[] squareFreeDecomposition() {
+        if (isConst())
+            return new Polynomial[0];
+        Polynomial[] factors = new Polynomial[getDegree()];
+        int factorCounter = 0;
+
+        Polynomial derivative = getDerivative();
+        Polynomial a = gcd(derivative);
+        Polynomial b = divide(a)[0];
+        Polynomial d = derivative.divide(a)[0].subtract(b.getDerivative());
+        while (!b.isConst()) {
+            a = b.gcd(d);
+            factors[factorCounter++] = a;
+            Polynomial nextB = b.divide(a)[0];
+            d = d.divide(a)[0].subtract(nextB.getDerivative());
+            b = nextB;
+        }
+        return Arrays.copyOf(factors, factorCounter);
+    }
+
+    /**
+     * Finds the distinct real roots in the given interval together with their multiplicities. The roots are searched
+     * for in the square-free factors of the polynomial, where all of them are simple.
+     * @param min   the a endpoint
+     * @param max   the b endpoint
+     * @param error the desired accuracy
+     * @return the real roots, repeated according to their multiplicities, see {@link RootSet#multiplicity(double, double)}
+     * @throws IllegalArgumentException if the polynomial is the zero polynomial
      */
-    private double[] searchRootsConstSign(Interval interval, double error) {
-        return searchRootsConstSign(interval.getA(), interval.getB(), error);
+    public RootSet getRootsWithMultiplicities(double min, double max, double error) {
+        if (isZero())
+            throw new IllegalArgumentException("The zero polynomial has infinitely many roots");
+        Polynomial[] factors = squareFreeDecomposition();
+        Complex[] roots = new Complex[Math.max(getDegree(), 0)];
+        int rootCounter = 0;
+        for (int i = 0; i < factors.length; i++) {
+            if (!factors[i].isConst()) {
+                for (double root : factors[i].getRoots(min, max, error))
+                    for (int j = 0; j <= i; j++) //The factor at index i holds the roots of multiplicity i + 1
+                        roots[rootCounter++] = new Complex(root, 0);
+            }
+        }
+        return new RootSet(Arrays.copyOf(roots, rootCounter));
     }
 
+
+    //Analytical section
+
+
     /**
-     * Finds all roots of the given polynomial in the given interval. If the polynomial is a constant zero, returns an array with maximal double value.
+     * Finds all distinct roots of the given polynomial in the given interval, with the default backend for its degree
+     * (see {@link RootFinder#forDegree(int)}). If the polynomial is a constant zero, returns an array with maximal double value.
      * @param min   the a endpoint
      * @param max   the b endpoint
      * @param error the desired accuracy
@@ -277,64 +772,47 @@ public class Polynomial {
         if (isZero())
             return new double[]{Double.MAX_VALUE};
 
-        Interval targetInterval = new Interval(min, max);
-        if (!targetInterval.isValid()) //Checking if the provided interval is valid
-            return new double[0];
-
-        double[] roots = new double[getDegree()]; //Stores roots
-        double[] finalRoots;
-        int rootCounter = 0; //Counts roots
-        int countIntOpp = 0, newCountIntOpp; //Counts intervals with opposite signs
-
-        Interval[] newIntervalsWithRoot, newOppSignIntervals;
-        Interval[] intervalsWithRoot = new Interval[0]; //Intervals to check during an iteration
-        Interval[] oppSignIntervals = new Interval[0]; //Intervals to approximate roots in
-        Interval intervalSearchResult = searchIntervalOppSign(min, max, error); //Stores a temporary result of interval search
-
-        if (intervalSearchResult.isValid()) { //Interval with opposite signs was found
-            intervalsWithRoot = new Interval[]{new Interval(min, max)};
-            oppSignIntervals = new Interval[]{intervalSearchResult}; //Adding the interval with a root to the search
-            countIntOpp = 1;
-        } else { //No interval with opposite signs found
-            roots = searchRootsConstSign(targetInterval, error);
-            rootCounter = roots.length;
-        }
-        while (countIntOpp > 0) { //If there are intervals with opposite signs
-            newCountIntOpp = 0;
-            newIntervalsWithRoot = new Interval[this.getDegree()];
-            newOppSignIntervals = new Interval[this.getDegree()];
-
-            for (int i = 0; i < countIntOpp; i++) { //Implementing the searching algorithm on an array of intervals
-                roots[rootCounter] = approxRootOppSign(oppSignIntervals[i], error); //Approximating and saving the root
-                rootCounter++;
-
-                //Dividing the interval into two parts and checking each of them for the presence of roots
-                for (Interval interval : intervalsWithRoot[i].divideDeviation(roots[rootCounter - 1], error)) {
-                    if (interval.isValid()) {
-                        intervalSearchResult = searchIntervalOppSign(interval, error); //Checking if there is an interval with opposite signes at endpoints
-
-                        if (intervalSearchResult.isValid()) {   //Such interval was found, adding it to the search
-                            newIntervalsWithRoot[newCountIntOpp] = interval;
-                            newOppSignIntervals[newCountIntOpp++] = intervalSearchResult;
-                        } else { //Such interval wasn't found, applying the constant signed search
-                            for (double root : searchRootsConstSign(interval, error))
-                                roots[rootCounter++] = root;
-                        }
-                    }
-                }
-            }
-            //Preparing the variables for the next iteration
-            countIntOpp = newCountIntOpp;
-            intervalsWithRoot = newIntervalsWithRoot;
-            oppSignIntervals = newOppSignIntervals;
-        }
+        return ((double[]) analysis(ROOTS, min, max, error)).clone();
+    }
 
-        //Rounding according to desired error
-        finalRoots = new double[rootCounter];
-        for (int i = 0; i < rootCounter; i++)
-            finalRoots[i] = roundVal(roots[i], error);
-        Arrays.sort(finalRoots);
-        return finalRoots;
+    /**
+     * Finds all distinct roots of the given polynomial in the given interval, approximating them with the given strategy.
+     * If the polynomial is a constant zero, returns an array with maximal double value.
+     * @param min   the a endpoint
+     * @param max   the b endpoint
+     * @param error the desired accuracy
+     * @param refiner the strategy to approximate the isolated roots with
+     * @return Array of roots of the given polynomial. If the polynomial is a constant zero, returns an array with max. double value.
+     */
+    public double[] getRoots(double min, double max, double error, RootRefiner refiner) {
+        if (isZero())
+            return new double[]{Double.MAX_VALUE};
+        return new SturmRootFinder(refiner).findRoots(this, min, max, error);
+    }
+
+    /**
+     * Finds all distinct roots of the given polynomial in the given interval with the given backend.
+     * If the polynomial is a constant zero, returns an array with maximal double value.
+     * @param min   the a endpoint
+     * @param max   the b endpoint
+     * @param error the desired accuracy
+     * @param finder the backend to find the roots with
+     * @return Array of roots of the given polynomial. If the polynomial is a constant zero, returns an array with max. double value.
+     */
+    public double[] getRoots(double min, double max, double error, RootFinder finder) {
+        if (isZero())
+            return new double[]{Double.MAX_VALUE};
+        return finder.findRoots(this, min, max, error);
+    }
+
+    /**
+     * Computes all complex roots of the polynomial simultaneously with the Aberth-Ehrlich iteration.
+     * The real roots in an interval can be obtained with {@link RootSet#getRealRoots(Interval, double)}.
+     * @return the roots, repeated according to their multiplicities
+     * @throws IllegalArgumentException if the polynomial is the zero polynomial
+     */
+    public RootSet getAllRoots() {
+        return new AberthSolver().solve(this);
     }
 
     /**
@@ -345,6 +823,11 @@ public class Polynomial {
      * @return array of strict extremum points in the given interval.
      */
     public Point[] getExtremaPoints(double min, double max, double error) {
+        return ((Point[]) analysis(EXTREMA, min, max, error)).clone();
+    }
+
+    //Finds the strict extremum points in the given interval
+    private Point[] computeExtremaPoints(double min, double max, double error) {
         if(isConst())
             return new Point[0];
 
@@ -381,7 +864,7 @@ public class Polynomial {
         Point finalExtremaPoints[] = new Point[extremaCounter];
         for (int i = 0; i < extremaCounter; i++) { //Saving and rounding points coordinates
             point = (extremumPoint)extremaPoints[i];
-            finalExtremaPoints[i] = new extremumPoint(roundVal(point.getX(), error), roundVal(point.getVal(), STANDARD_Y_ERROR), point.isMin());
+            finalExtremaPoints[i] = new extremumPoint(_rounding.round(point.getX(), error), _rounding.round(point.getVal(), STANDARD_Y_ERROR), point.isMin());
         }
         return finalExtremaPoints;
     }
@@ -394,6 +877,11 @@ public class Polynomial {
      * @return an array of inflection points in a given interval with the desired error
      */
     public Point[] getInflectionPoints(double min, double max, double error) {
+        return ((Point[]) analysis(INFLECTIONS, min, max, error)).clone();
+    }
+
+    //Finds the inflection points in the given interval
+    private Point[] computeInflectionPoints(double min, double max, double error) {
         Point[] inflectionPoints = getDerivative().getExtremaPoints(min, max, error);
         for (int i = 0; i < inflectionPoints.length; i++)
             inflectionPoints[i] = new inflectionPoint(inflectionPoints[i], ((extremumPoint) inflectionPoints[i]).isMin());
@@ -401,6 +889,114 @@ public class Polynomial {
         return inflectionPoints;
     }
 
+    /**
+     * Samples the graph of the polynomial for plotting, see {@link CurveSampler}. The samples include the endpoints,
+     * roots, extrema points and inflection points, and the chords between them stay within half a pixel of the graph.
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param pixels the width and the height of the plot in pixels
+     * @return an array of two arrays of equal length: the x coordinates in ascending order and the values
+     */
+    public double[][] sampleCurve(double min, double max, int pixels) {
+        return new CurveSampler().sample(this, min, max, pixels);
+    }
+
+    /**
+     * Installs a cache of analysis results shared by all polynomials, consulted by {@link #getRoots(double, double, double)},
+     * {@link #getExtremaPoints(double, double, double)} and {@link #getInflectionPoints(double, double, double)}
+     * when a polynomial has not computed the result itself yet
+     * @param cache the cache to install, or null to disable the shared cache
+     */
+    public static void setSharedCache(AnalysisCache cache) {
+        _sharedCache = cache;
+    }
+
+    /**
+     * Returns the installed cache of analysis results shared by all polynomials
+     * @return the shared cache, or null if there is none
+     */
+    public static AnalysisCache getSharedCache() {
+        return _sharedCache;
+    }
+
+    /*
+     * Returns an analysis result of the given kind: from the cache of the polynomial, otherwise from the shared cache,
+     * otherwise computed. The result is shared and must not be modified.
+     */
+    private Object analysis(int kind, double min, double max, double error) {
+        AnalysisKey key = new AnalysisKey(kind, min, max, error);
+        Map<AnalysisKey, Object> cache = _analysisCache;
+        Object result = cache == null ? null : cache.get(key);
+        if (result == null) {
+            AnalysisCache shared = _sharedCache;
+            if (shared == null)
+                result = computeAnalysis(kind, min, max, error);
+            else
+                result = shared.get(_coefficients, _rounding, kind, min, max, error,
+                        () -> computeAnalysis(kind, min, max, error));
+            cache(key, result);
+        }
+        return result;
+    }
+
+    //Computes an analysis result of the given kind
+    private Object computeAnalysis(int kind, double min, double max, double error) {
+        switch (kind) {
+            case ROOTS:
+                return RootFinder.forDegree(getDegree()).findRoots(this, min, max, error);
+            case EXTREMA:
+                return computeExtremaPoints(min, max, error);
+            default:
+                return computeInflectionPoints(min, max, error);
+        }
+    }
+
+    //Caches an analysis result in the polynomial. The cache is cleared when full, since queries tend to repeat few keys.
+    private void cache(AnalysisKey key, Object result) {
+        Map<AnalysisKey, Object> cache = _analysisCache;
+        if (cache == null) {
+            synchronized (this) {
+                if ((cache = _analysisCache) == null)
+                    _analysisCache = cache = new ConcurrentHashMap<>();
+            }
+        }
+        if (cache.size() >= MAX_CACHED_RESULTS)
+            cache.clear();
+        cache.put(key, result);
+    }
+
+    /*
+     * The key of a cached analysis result: its kind and the interval and the accuracy it was computed with
+     */
+    private static final class AnalysisKey {
+        private final int _kind;
+        private final double _min, _max, _error;
+
+        AnalysisKey(int kind, double min, double max, double error) {
+            _kind = kind;
+            _min = min;
+            _max = max;
+            _error = error;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof AnalysisKey))
+                return false;
+            AnalysisKey other = (AnalysisKey) obj;
+            return _kind == other._kind && Double.compare(_min, other._min) == 0
+                    && Double.compare(_max, other._max) == 0 && Double.compare(_error, other._error) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = _kind;
+            hash = 31 * hash + Double.hashCode(_min);
+            hash = 31 * hash + Double.hashCode(_max);
+            return 31 * hash + Double.hashCode(_error);
+        }
+    }
+
     /**
      * Prints analytical information about the polynomial on a given interval
      * @param min the a endpoint
@@ -439,38 +1035,10 @@ public class Polynomial {
     }
 
     /**
-     * Returns string representation of the polynomial
+     * Returns string representation of the polynomial, which {@link PolynomialCodec#parse(CharSequence)} reads back
      * @return string representation of the polynomial
      */
-
     public String toString() {
-        if(isZero())
-            return Integer.toString(0);
-        String polynomialToStr = "";
-        boolean firstCoef = true;
-        double coef;
-
-        for (int i = 0; i < _coefficients.length; i++) {
-            coef = _coefficients[i];
-            if (coef != 0) {
-                if(coef > 0) {
-                    if (!firstCoef)
-                        polynomialToStr += " + ";
-                }
-
-                else
-                    polynomialToStr += " - ";
-
-                if(!(Math.abs(coef) == 1)) {
-                    if ((int) coef == coef)
-                        polynomialToStr += (int) Math.abs(coef);
-                    else
-                        polynomialToStr += Math.abs(coef);
-                }
-                polynomialToStr += Character.toString(_variable) + "^" + i;
-                firstCoef = false;
-            }
-        }
-        return polynomialToStr;
+        return PolynomialCodec.toText(this);
     }
-}
\ No newline at end of file
+}
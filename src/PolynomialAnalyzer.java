@@ -0,0 +1,183 @@
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This class analyzes large numbers of polynomials in parallel. Every polynomial is analyzed by a separate task in a
+ * work-stealing pool, and its result is pushed to a sink. The number of polynomials in flight is bounded: the producer
+ * blocks until the sink has consumed earlier results, so the memory used doesn't depend on the size of the input.
+ * @author Asquator
+ * @version 0.1
+ */
+public class PolynomialAnalyzer {
+    /**Default maximal number of polynomials in flight per worker*/
+    public static final int DEFAULT_IN_FLIGHT_PER_WORKER = 64;
+    private final ForkJoinPool _pool;
+    private final int _maxInFlight;
+    private final double _min, _max, _error;
+
+    /**
+     * Constructs an analyzer running in the common pool
+     * @param min the a endpoint of the interval to analyze on
+     * @param max the b endpoint of the interval to analyze on
+     * @param error the desired accuracy
+     */
+    public PolynomialAnalyzer(double min, double max, double error) {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism() * DEFAULT_IN_FLIGHT_PER_WORKER, min, max, error);
+    }
+
+    /**
+     * Constructs an analyzer
+     * @param pool the pool to run the analysis in
+     * @param maxInFlight the maximal number of polynomials submitted but not yet consumed by the sink
+     * @param min the a endpoint of the interval to analyze on
+     * @param max the b endpoint of the interval to analyze on
+     * @param error the desired accuracy
+     */
+    public PolynomialAnalyzer(ForkJoinPool pool, int maxInFlight, double min, double max, double error) {
+        if (maxInFlight <= 0)
+            throw new IllegalArgumentException("The maximal number of polynomials in flight must be positive");
+        _pool = pool;
+        _maxInFlight = maxInFlight;
+        _min = min;
+        _max = max;
+        _error = error;
+    }
+
+    /**
+     * Analyzes a single polynomial
+     * @param index the index of the polynomial in its input
+     * @param polynomial the polynomial to analyze
+     * @return the roots, extrema points and inflection points of the polynomial
+     */
+    public AnalysisResult analyze(long index, Polynomial polynomial) {
+        return new AnalysisResult(index, polynomial, polynomial.getRoots(_min, _max, _error),
+                polynomial.getExtremaPoints(_min, _max, _error), polynomial.getInflectionPoints(_min, _max, _error));
+    }
+
+    /**
+     * Analyzes the polynomials given by arrays of coefficients and pushes the results to the sink.
+     * The results arrive in no particular order, use {@link AnalysisResult#getIndex()} to match them to the input.
+     * The sink is called by the workers, but never concurrently, so it doesn't need to be thread-safe.
+     * Returns when all the results have been consumed, also when interrupted or failing: the tasks in flight are always
+     * waited for, so the sink is never called after this method returns.
+     * @param coefficients the arrays of coefficients of the polynomials
+     * @param sink the consumer of the results
+     * @throws InterruptedException if the thread was interrupted while waiting for the workers
+     * @throws RuntimeException the first exception thrown by an analysis or by the sink, or the rejection of a task by
+     * the pool, after all the tasks finished
+     */
+    public void analyze(Iterator<double[]> coefficients, Consumer<AnalysisResult> sink) throws InterruptedException {
+        analyzeAll(new Iterator<Polynomial>() {
+            public boolean hasNext() {
+                return coefficients.hasNext();
+            }
+
+            public Polynomial next() {
+                return new Polynomial(coefficients.next());
+            }
+        }, sink);
+    }
+
+    /*
+     * Submits every polynomial as a separate task, blocking while too many of them are in flight
+     */
+    private void analyzeAll(Iterator<Polynomial> polynomials, Consumer<AnalysisResult> sink) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(_maxInFlight);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Object sinkLock = new Object();
+
+        try {
+            for (long index = 0; polynomials.hasNext() && failure.get() == null; index++) {
+                Polynomial polynomial = polynomials.next();
+                long polynomialIndex = index;
+                inFlight.acquire(); //Blocks while too many results are waiting to be consumed
+                try {
+                    _pool.execute(() -> {
+                        try {
+                            AnalysisResult result = analyze(polynomialIndex, polynomial);
+                            synchronized (sinkLock) {
+                                sink.accept(result);
+                            }
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) { //The task will never release its permit
+                    inFlight.release();
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } finally {
+            //Waiting for all the tasks to finish even if interrupted, so the sink isn't called after returning
+            inFlight.acquireUninterruptibly(_maxInFlight);
+            inFlight.release(_maxInFlight);
+        }
+        if (Thread.interrupted())
+            throw new InterruptedException("Interrupted while waiting for the workers");
+        if (failure.get() != null)
+            throw failure.get();
+    }
+
+    /**
+     * Analyzes the polynomials given by a stream of arrays of coefficients and pushes the results to the sink
+     * @param coefficients the stream of arrays of coefficients
+     * @param sink the consumer of the results, see {@link #analyze(Iterator, Consumer)}
+     * @throws InterruptedException if the thread was interrupted while waiting for the workers
+     */
+    public void analyze(Stream<double[]> coefficients, Consumer<AnalysisResult> sink) throws InterruptedException {
+        analyze(coefficients.iterator(), sink);
+    }
+
+    /**
+     * Analyzes the polynomials stored in one flat array and pushes the results to the sink.
+     * The coefficients of the i-th polynomial are flat[offsets[i]], ..., flat[offsets[i + 1] - 1].
+     * @param flat the coefficients of all the polynomials
+     * @param offsets the offsets of the polynomials in the flat array, followed by the end offset of the last one
+     * @param sink the consumer of the results, see {@link #analyze(Iterator, Consumer)}
+     * @throws InterruptedException if the thread was interrupted while waiting for the workers
+     */
+    public void analyze(double[] flat, int[] offsets, Consumer<AnalysisResult> sink) throws InterruptedException {
+        analyze(new Iterator<double[]>() {
+            private int _next = 0;
+
+            public boolean hasNext() {
+                return _next < offsets.length - 1;
+            }
+
+            public double[] next() {
+                double[] coef = new double[offsets[_next + 1] - offsets[_next]];
+                System.arraycopy(flat, offsets[_next], coef, 0, coef.length);
+                _next++;
+                return coef;
+            }
+        }, sink);
+    }
+
+    /**
+     * Analyzes the polynomials of a batch and pushes the results to the sink.
+     * The index of every result is the index of its polynomial in the batch.
+     * @param batch the batch of polynomials
+     * @param sink the consumer of the results, see {@link #analyze(Iterator, Consumer)}
+     * @throws InterruptedException if the thread was interrupted while waiting for the workers
+     */
+    public void analyze(PolynomialBatch batch, Consumer<AnalysisResult> sink) throws InterruptedException {
+        analyzeAll(new Iterator<Polynomial>() {
+            private int _next = 0;
+
+            public boolean hasNext() {
+                return _next < batch.size();
+            }
+
+            public Polynomial next() {
+                return batch.get(_next++);
+            }
+        }, sink);
+    }
+}
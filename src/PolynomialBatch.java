@@ -0,0 +1,284 @@
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * This class stores many polynomials in one contiguous array of coefficients, with arrays of offsets and degrees as
+ * an index. The polynomials are accessed by index and operated on in place, without a Polynomial object per entry.
+ * @author Asquator
+ * @version 0.1
+ */
+public class PolynomialBatch {
+    private static final int DEFAULT_CAPACITY = 16;
+    private double[] _coefficients; //Coefficients of all the polynomials, one after another
+    private int[] _offsets; //Offset of the free coefficient of every polynomial
+    private int[] _degrees; //Degree of every polynomial, -1 for the zero polynomial
+    private int _size; //Number of polynomials
+    private int _length; //Number of coefficients used
+
+    /**
+     * Constructs an empty batch
+     */
+    public PolynomialBatch() {
+        this(DEFAULT_CAPACITY, DEFAULT_CAPACITY * 4);
+    }
+
+    /**
+     * Constructs an empty batch with the given initial capacities
+     * @param polynomials the expected number of polynomials
+     * @param coefficients the expected total number of coefficients
+     */
+    public PolynomialBatch(int polynomials, int coefficients) {
+        _coefficients = new double[Math.max(coefficients, 1)];
+        _offsets = new int[Math.max(polynomials, 1)];
+        _degrees = new int[Math.max(polynomials, 1)];
+    }
+
+    /**
+     * Returns the number of polynomials in the batch
+     * @return the number of polynomials
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Removes all polynomials from the batch, keeping the allocated storage for reuse
+     */
+    public void clear() {
+        Arrays.fill(_coefficients, 0, _length, 0); //The storage past the used length is kept zeroed
+        _size = 0;
+        _length = 0;
+    }
+
+    /**
+     * Appends a polynomial to the batch, discarding the tail of zero coefficients
+     * @param coef the coefficients of the polynomial
+     * @return the index of the polynomial in the batch
+     */
+    public int add(double... coef) {
+        return add(coef, 0, coef.length);
+    }
+
+    /**
+     * Appends a polynomial given by a range of an array of coefficients, discarding the tail of zero coefficients
+     * @param coef an array of coefficients
+     * @param offset the index of the free coefficient in the array
+     * @param length the number of coefficients
+     * @return the index of the polynomial in the batch
+     */
+    public int add(double[] coef, int offset, int length) {
+        int deg = length - 1;
+        while (deg > 0 && coef[offset + deg] == 0) //Searching the first nonzero coefficient
+            deg--;
+        int index = reserve(Math.max(deg, 0) + 1);
+        if (deg >= 0)
+            System.arraycopy(coef, offset, _coefficients, _offsets[index], deg + 1);
+        setDegree(index);
+        return index;
+    }
+
+    /**
+     * Appends a polynomial given by a range of a buffer of coefficients, discarding the tail of zero coefficients.
+     * The coefficients are copied straight into the storage of the batch; the position of the buffer is not changed.
+     * @param coef a buffer of coefficients
+     * @param offset the absolute index of the free coefficient in the buffer
+     * @param length the number of coefficients
+     * @return the index of the polynomial in the batch
+     */
+    public int add(DoubleBuffer coef, int offset, int length) {
+        int index = reserve(Math.max(length, 1));
+        int start = _offsets[index];
+        if (length > 0)
+            coef.get(offset, _coefficients, start, length);
+        int deg = _degrees[index];
+        while (deg > 0 && _coefficients[start + deg] == 0) //Giving back the tail of zeroes
+            deg--;
+        _length = start + deg + 1;
+        _degrees[index] = deg;
+        setDegree(index);
+        return index;
+    }
+
+    /**
+     * Appends a polynomial to the batch
+     * @param polynomial the polynomial to append
+     * @return the index of the polynomial in the batch
+     */
+    public int add(Polynomial polynomial) {
+        return add(polynomial.coefficients());
+    }
+
+    /*
+     * Returns the internal array of coefficients without copying it, for read-only use inside the package
+     */
+    double[] coefficients() {
+        return _coefficients;
+    }
+
+    /*
+     * Returns the index of the free coefficient of a polynomial in the internal array of coefficients
+     */
+    int offset(int index) {
+        checkIndex(index);
+        return _offsets[index];
+    }
+
+    //Appends a polynomial of the given number of zero coefficients and returns its index
+    private int reserve(int length) {
+        if (_size == _offsets.length) {
+            _offsets = Arrays.copyOf(_offsets, _size * 2);
+            _degrees = Arrays.copyOf(_degrees, _size * 2);
+        }
+        if (_length + length > _coefficients.length)
+            _coefficients = Arrays.copyOf(_coefficients, Math.max(_coefficients.length * 2, _length + length));
+        _offsets[_size] = _length;
+        _degrees[_size] = length - 1;
+        _length += length;
+        return _size++;
+    }
+
+    //Sets the degree of a freshly written polynomial, -1 if it's the zero polynomial
+    private void setDegree(int index) {
+        if (_degrees[index] == 0 && _coefficients[_offsets[index]] == 0)
+            _degrees[index] = -1;
+    }
+
+    /**
+     * Returns the degree of a polynomial
+     * @param index the index of the polynomial
+     * @return the degree of the polynomial, -1 for the zero polynomial
+     */
+    public int getDegree(int index) {
+        checkIndex(index);
+        return _degrees[index];
+    }
+
+    /**
+     * Returns a coefficient of a polynomial
+     * @param index the index of the polynomial
+     * @param power the power of the variable the coefficient belongs to
+     * @return the coefficient, 0 if the power exceeds the degree
+     */
+    public double getCoef(int index, int power) {
+        checkIndex(index);
+        if (power < 0)
+            throw new IndexOutOfBoundsException("Negative power: " + power);
+        return power <= _degrees[index] ? _coefficients[_offsets[index] + power] : 0;
+    }
+
+    /**
+     * Calculate the value of a polynomial in x using Horner's scheme
+     * @param index the index of the polynomial
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    public double calcAt(int index, double x) {
+        checkIndex(index);
+        int offset = _offsets[index];
+        double val = 0;
+        for (int i = offset + Math.max(_degrees[index], 0); i >= offset; i--)
+            val = val * x + _coefficients[i];
+        return val;
+    }
+
+    /**
+     * Calculate the values of all the polynomials in x without allocating memory
+     * @param x the value to calculate in
+     * @param out an array to write the values to, at least as long as the size of the batch
+     */
+    public void calcAll(double x, double[] out) {
+        for (int index = 0; index < _size; index++) {
+            int offset = _offsets[index];
+            double val = 0;
+            for (int i = offset + Math.max(_degrees[index], 0); i >= offset; i--)
+                val = val * x + _coefficients[i];
+            out[index] = val;
+        }
+    }
+
+    /**
+     * Appends the derivative of a polynomial of this batch to the target batch
+     * @param index the index of the polynomial
+     * @param target the batch to append the derivative to, may be this batch
+     * @return the index of the derivative in the target batch
+     */
+    public int addDerivative(int index, PolynomialBatch target) {
+        checkIndex(index);
+        int deg = _degrees[index];
+        int derivIndex = target.reserve(Math.max(deg, 1));
+        if (deg > 0) {
+            int from = _offsets[index], to = target._offsets[derivIndex]; //Read after reserving, the arrays may be replaced
+            for (int i = 0; i < deg; i++)
+                target._coefficients[to + i] = (i + 1) * _coefficients[from + i + 1];
+        } else
+            target._coefficients[target._offsets[derivIndex]] = 0;
+        target.setDegree(derivIndex);
+        return derivIndex;
+    }
+
+    /**
+     * Returns the batch of the derivatives of all the polynomials, in the same order
+     * @return the batch of the derivatives
+     */
+    public PolynomialBatch getDerivatives() {
+        PolynomialBatch derivatives = new PolynomialBatch(_size, Math.max(_length - _size, 1));
+        for (int index = 0; index < _size; index++)
+            addDerivative(index, derivatives);
+        return derivatives;
+    }
+
+    /**
+     * Appends the sum of two polynomials of this batch to the target batch
+     * @param first the index of the first polynomial
+     * @param second the index of the second polynomial
+     * @param target the batch to append the sum to, may be this batch
+     * @return the index of the sum in the target batch
+     */
+    public int addSum(int first, int second, PolynomialBatch target) {
+        checkIndex(first);
+        checkIndex(second);
+        int firstLength = Math.max(_degrees[first], 0) + 1, secondLength = Math.max(_degrees[second], 0) + 1;
+        int sumIndex = target.reserve(Math.max(firstLength, secondLength));
+        int to = target._offsets[sumIndex];
+        for (int i = 0; i < firstLength; i++)
+            target._coefficients[to + i] = _coefficients[_offsets[first] + i];
+        for (int i = 0; i < secondLength; i++)
+            target._coefficients[to + i] += _coefficients[_offsets[second] + i];
+
+        int deg = target._degrees[sumIndex]; //Discarding the tail of zero coefficients
+        while (deg > 0 && target._coefficients[to + deg] == 0)
+            deg--;
+        target._length = to + deg + 1;
+        target._degrees[sumIndex] = deg;
+        target.setDegree(sumIndex);
+        return sumIndex;
+    }
+
+    /**
+     * Finds all distinct roots of a polynomial in the given interval, see {@link Polynomial#getRoots(double, double, double)}.
+     * The root finders work on a temporary Polynomial, which is discarded right after the search.
+     * @param index the index of the polynomial
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return Array of roots of the polynomial. If the polynomial is a constant zero, returns an array with max. double value.
+     */
+    public double[] getRoots(int index, double min, double max, double error) {
+        return get(index).getRoots(min, max, error);
+    }
+
+    /**
+     * Constructs a Polynomial object from a polynomial of the batch
+     * @param index the index of the polynomial
+     * @return a new polynomial with the same coefficients
+     */
+    public Polynomial get(int index) {
+        checkIndex(index);
+        return new Polynomial(Arrays.copyOfRange(_coefficients, _offsets[index], _offsets[index] + Math.max(_degrees[index], 0) + 1));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + _size);
+    }
+}
@@ -0,0 +1,527 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * This class reads and writes polynomials in two formats.
+ * <p>
+ * The binary format is a sequence of records, each one a little-endian 64-bit degree followed by the degree + 1
+ * coefficients as little-endian doubles, from the free coefficient up. The zero polynomial is stored with degree 0.
+ * Every field takes 8 bytes, so a whole buffer is read through a single double view, straight into a
+ * {@link PolynomialBatch}, without objects or copies per record.
+ * <p>
+ * The text format is the notation printed by {@link Polynomial#toString()}, e.g. " - 6x^0 + 11x^1 - 6x^2 + x^3",
+ * one polynomial per line. The parser also accepts terms without a power ("x" or "5"), whitespace anywhere between
+ * tokens and repeated powers, which are summed up.
+ * @author Asquator
+ * @version 0.1
+ */
+public class PolynomialCodec {
+    /**Number of bytes per field of the binary format*/
+    public static final int FIELD_BYTES = Long.BYTES;
+    private static final int CHANNEL_BUFFER_BYTES = 1 << 20; //Size of the buffer to read and write channels through
+    private static final long EXACT_DIGITS_LIMIT = 1L << 53; //Larger integers aren't exact doubles
+    private static final double[] POWERS_OF_TEN = new double[23]; //Powers of ten exactly representable as doubles
+
+    static {
+        for (int i = 0; i < POWERS_OF_TEN.length; i++)
+            POWERS_OF_TEN[i] = Double.parseDouble("1e" + i);
+    }
+
+    private PolynomialCodec() {
+    }
+
+
+    //Binary format
+
+
+    /**
+     * Returns the number of bytes a polynomial takes in the binary format
+     * @param polynomial the polynomial
+     * @return the size of the record
+     */
+    public static int binarySize(Polynomial polynomial) {
+        return (polynomial.coefficients().length + 1) * FIELD_BYTES;
+    }
+
+    /**
+     * Writes a polynomial in the binary format at the position of the buffer and advances it
+     * @param polynomial the polynomial to write
+     * @param out the buffer to write to, of any byte order
+     * @throws BufferOverflowException if the record doesn't fit in the buffer
+     */
+    public static void writeBinary(Polynomial polynomial, ByteBuffer out) {
+        double[] coef = polynomial.coefficients();
+        writeRecord(coef, 0, coef.length, out);
+    }
+
+    /**
+     * Writes a polynomial of a batch in the binary format at the position of the buffer and advances it
+     * @param batch the batch of polynomials
+     * @param index the index of the polynomial to write
+     * @param out the buffer to write to, of any byte order
+     * @throws BufferOverflowException if the record doesn't fit in the buffer
+     */
+    public static void writeBinary(PolynomialBatch batch, int index, ByteBuffer out) {
+        writeRecord(batch.coefficients(), batch.offset(index), Math.max(batch.getDegree(index), 0) + 1, out);
+    }
+
+    /**
+     * Writes all polynomials of a batch to a channel in the binary format
+     * @param batch the batch of polynomials
+     * @param channel the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if the channel fails
+     */
+    public static long writeBinary(PolynomialBatch batch, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_BYTES);
+        long written = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            int size = (Math.max(batch.getDegree(i), 0) + 2) * FIELD_BYTES;
+            if (size > buffer.remaining()) {
+                written += drain(buffer, channel);
+                if (size > buffer.capacity()) //A record larger than the buffer is written on its own
+                    buffer = ByteBuffer.allocateDirect(size);
+            }
+            writeBinary(batch, i, buffer);
+        }
+        return written + drain(buffer, channel);
+    }
+
+    /**
+     * Reads a polynomial in the binary format from the position of the buffer and advances it
+     * @param in the buffer to read from, of any byte order
+     * @return the polynomial
+     * @throws BufferUnderflowException if the buffer doesn't hold a whole record
+     * @throws IllegalArgumentException if the record has a negative degree
+     */
+    public static Polynomial readBinary(ByteBuffer in) {
+        ByteBuffer bytes = in.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int length = recordLength(bytes, bytes.position());
+        if (length < 0)
+            throw new BufferUnderflowException();
+        double[] coef = new double[length];
+        bytes.position(bytes.position() + FIELD_BYTES);
+        bytes.asDoubleBuffer().get(coef);
+        in.position(in.position() + (length + 1) * FIELD_BYTES);
+        return new Polynomial(coef);
+    }
+
+    /**
+     * Reads all whole records of the binary format from the position of the buffer into a batch, and advances the
+     * position past them. An incomplete record at the end is left in the buffer, so the buffer can be compacted and
+     * refilled from a stream. The coefficients are copied straight from the buffer, which may be memory-mapped, into
+     * the storage of the batch.
+     * @param in the buffer to read from, of any byte order
+     * @param target the batch to append the polynomials to
+     * @return the number of polynomials read
+     * @throws IllegalArgumentException if a record has a negative degree
+     */
+    public static int readBinary(ByteBuffer in, PolynomialBatch target) {
+        ByteBuffer bytes = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+        DoubleBuffer doubles = bytes.asDoubleBuffer(); //Field i of the slice is doubles[i]
+        int field = 0, count = 0;
+        int length;
+        while ((length = recordLength(bytes, field * FIELD_BYTES)) >= 0) {
+            target.add(doubles, field + 1, length);
+            field += length + 1;
+            count++;
+        }
+        in.position(in.position() + field * FIELD_BYTES);
+        return count;
+    }
+
+    /**
+     * Reads all records of the binary format from a channel into a batch
+     * @param channel the channel to read from
+     * @param target the batch to append the polynomials to
+     * @return the number of polynomials read
+     * @throws IOException if the channel fails or ends in the middle of a record
+     * @throws IllegalArgumentException if a record has a negative degree
+     */
+    public static long readBinary(ReadableByteChannel channel, PolynomialBatch target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_BYTES);
+        long count = 0;
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            int read = readBinary(buffer, target);
+            count += read;
+            if (read == 0 && buffer.limit() == buffer.capacity()) { //A record larger than the buffer
+                long needed = (readDegree(buffer, buffer.position()) + 2) * FIELD_BYTES;
+                if (needed > Integer.MAX_VALUE)
+                    throw new IOException("A record of " + needed + " bytes is too large to read");
+                buffer = ByteBuffer.allocateDirect((int) needed).put(buffer);
+            } else
+                buffer.compact();
+        }
+        if (buffer.position() > 0)
+            throw new IOException("The channel ended in the middle of a record");
+        return count;
+    }
+
+    //Writes a record of the given coefficients
+    private static void writeRecord(double[] coef, int offset, int length, ByteBuffer out) {
+        int size = (length + 1) * FIELD_BYTES;
+        if (out.remaining() < size)
+            throw new BufferOverflowException();
+        ByteBuffer bytes = out.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putLong(length - 1);
+        bytes.asDoubleBuffer().put(coef, offset, length);
+        out.position(out.position() + size);
+    }
+
+    /*
+     * Returns the number of coefficients of the record at the given index of a little-endian buffer, or -1 if the
+     * buffer doesn't hold the whole record
+     */
+    private static int recordLength(ByteBuffer bytes, int index) {
+        if (bytes.limit() - index < FIELD_BYTES)
+            return -1;
+        long degree = readDegree(bytes, index);
+        if (degree >= (bytes.limit() - index) / FIELD_BYTES - 1)
+            return -1;
+        return (int) degree + 1;
+    }
+
+    //Reads the degree at the given index of a buffer and validates it
+    private static long readDegree(ByteBuffer bytes, int index) {
+        long degree = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN).getLong(index);
+        if (degree < 0)
+            throw new IllegalArgumentException("Negative degree " + degree + " at byte " + index);
+        return degree;
+    }
+
+    //Writes the contents of a buffer to a channel and clears it, returns the number of bytes written
+    private static int drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        int written = 0;
+        while (buffer.hasRemaining())
+            written += channel.write(buffer);
+        buffer.clear();
+        return written;
+    }
+
+
+    //Text format
+
+
+    /**
+     * Returns the text representation of a polynomial, as printed by {@link Polynomial#toString()}
+     * @param polynomial the polynomial
+     * @return the text representation
+     */
+    public static String toText(Polynomial polynomial) {
+        double[] coef = polynomial.coefficients();
+        return appendText(coef, 0, coef.length, polynomial.getVariable(), new StringBuilder()).toString();
+    }
+
+    /**
+     * Returns the text representation of a sparse polynomial, listing its nonzero terms only
+     * @param polynomial the polynomial to write
+     * @return the text representation
+     */
+    public static String toText(SparsePolynomial polynomial) {
+        int[] exponents = polynomial.getExponents();
+        double[] coef = polynomial.getCoef();
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < exponents.length; i++)
+            appendTerm(coef[i], exponents[i], i == 0, 'x', out);
+        if (exponents.length == 0) //The zero polynomial
+            out.append('0');
+        return out.toString();
+    }
+
+    /**
+     * Appends the text representation of a polynomial of a batch to a builder
+     * @param batch the batch of polynomials
+     * @param index the index of the polynomial
+     * @param variable the variable to print
+     * @param out the builder to append to
+     * @return the builder
+     */
+    public static StringBuilder appendText(PolynomialBatch batch, int index, char variable, StringBuilder out) {
+        return appendText(batch.coefficients(), batch.offset(index), Math.max(batch.getDegree(index), 0) + 1, variable, out);
+    }
+
+    /**
+     * Writes all polynomials of a batch, one per line
+     * @param batch the batch of polynomials
+     * @param variable the variable to print
+     * @param out the destination
+     * @throws IOException if the destination fails
+     */
+    public static void writeText(PolynomialBatch batch, char variable, Appendable out) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            line.setLength(0);
+            out.append(appendText(batch, i, variable, line).append('\n'));
+        }
+    }
+
+    /*
+     * Appends the text representation of the polynomial given by a range of an array of coefficients
+     */
+    private static StringBuilder appendText(double[] coef, int offset, int length, char variable, StringBuilder out) {
+        boolean firstCoef = true;
+        for (int i = 0; i < length; i++) {
+            double c = coef[offset + i];
+            if (c != 0) {
+                appendTerm(c, i, firstCoef, variable, out);
+                firstCoef = false;
+            }
+        }
+        if (firstCoef) //The zero polynomial
+            out.append('0');
+        return out;
+    }
+
+    //Appends a nonzero term with its sign, which is written as a separator unless the term is the first one
+    private static void appendTerm(double c, int exponent, boolean first, char variable, StringBuilder out) {
+        if (c < 0 || c != c) //NaN is printed with a minus, as it's not positive
+            out.append(" - ");
+        else if (!first)
+            out.append(" + ");
+
+        if (!(Math.abs(c) == 1)) {
+            if ((int) c == c)
+                out.append((long) Math.abs(c));
+            else
+                out.append(Math.abs(c));
+        }
+        out.append(variable).append('^').append(exponent);
+    }
+
+    /**
+     * Parses a polynomial from the text format. The variable is the first letter of the text, 'x' if there is none.
+     * @param text the text to parse
+     * @return the polynomial
+     * @throws IllegalArgumentException if the text is malformed
+     */
+    public static Polynomial parse(CharSequence text) {
+        TextParser parser = new TextParser();
+        parser.parse(text, 0, text.length());
+        return new Polynomial(parser._variable, Arrays.copyOf(parser._coef, parser._length));
+    }
+
+    /**
+     * Parses a polynomial from the text format and appends it to a batch
+     * @param text the text to parse
+     * @param target the batch to append the polynomial to
+     * @return the index of the polynomial in the batch
+     * @throws IllegalArgumentException if the text is malformed
+     */
+    public static int parse(CharSequence text, PolynomialBatch target) {
+        TextParser parser = new TextParser();
+        parser.parse(text, 0, text.length());
+        return target.add(parser._coef, 0, parser._length);
+    }
+
+    /**
+     * Parses polynomials in the text format, one per line, and appends them to a batch. Blank lines are skipped.
+     * @param reader the reader to read the lines from
+     * @param target the batch to append the polynomials to
+     * @return the number of polynomials read
+     * @throws IOException if the reader fails
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static int parseLines(BufferedReader reader, PolynomialBatch target) throws IOException {
+        TextParser parser = new TextParser(); //Reused for all lines
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank())
+                continue;
+            parser.parse(line, 0, line.length());
+            target.add(parser._coef, 0, parser._length);
+            count++;
+        }
+        return count;
+    }
+
+    /*
+     * A parser of the text format, which collects the coefficients in a reusable array
+     */
+    private static final class TextParser {
+        private double[] _coef = new double[8]; //The coefficients parsed, from the free coefficient up
+        private int _length; //Number of coefficients parsed
+        private char _variable;
+        private CharSequence _text;
+        private int _pos, _end;
+
+        //Parses a polynomial from a range of the text
+        void parse(CharSequence text, int start, int end) {
+            _text = text;
+            _pos = start;
+            _end = end;
+            _length = 1;
+            _coef[0] = 0;
+            _variable = 0;
+
+            skipSpaces();
+            if (_pos == _end)
+                throw error("Empty polynomial");
+            boolean first = true;
+            while (_pos < _end) {
+                double sign = 1;
+                char c = _text.charAt(_pos);
+                if (c == '+' || c == '-') {
+                    sign = c == '-' ? -1 : 1;
+                    _pos++;
+                    skipSpaces();
+                } else if (!first)
+                    throw error("Expected + or -");
+                parseTerm(sign);
+                skipSpaces();
+                first = false;
+            }
+            if (_variable == 0)
+                _variable = 'x';
+        }
+
+        //Parses a term: an optional coefficient and an optional power of the variable
+        private void parseTerm(double sign) {
+            int termStart = _pos;
+            double coef = 1;
+            if (_pos < _end && isNumberStart(_text.charAt(_pos)))
+                coef = parseNumber();
+            skipSpaces();
+
+            int power = 0;
+            if (_pos < _end && Character.isLetter(_text.charAt(_pos))) {
+                char variable = _text.charAt(_pos++);
+                if (_variable == 0)
+                    _variable = variable;
+                else if (variable != _variable)
+                    throw error("Unexpected variable " + variable);
+                power = 1;
+                skipSpaces();
+                if (_pos < _end && _text.charAt(_pos) == '^') {
+                    _pos++;
+                    skipSpaces();
+                    power = parsePower();
+                }
+            } else if (_pos == termStart)
+                throw error("Expected a term");
+            add(power, sign * coef);
+        }
+
+        //Adds a term to the coefficients, growing the array if needed
+        private void add(int power, double coef) {
+            if (power >= _coef.length)
+                _coef = Arrays.copyOf(_coef, Math.max(_coef.length * 2, power + 1));
+            if (power >= _length) {
+                Arrays.fill(_coef, _length, power + 1, 0);
+                _length = power + 1;
+            }
+            _coef[power] += coef;
+        }
+
+        //Parses the non-negative integer power of a term
+        private int parsePower() {
+            int start = _pos;
+            long power = 0;
+            while (_pos < _end && isDigit(_text.charAt(_pos))) {
+                power = power * 10 + (_text.charAt(_pos++) - '0');
+                if (power > Integer.MAX_VALUE - 8) //Leaves room for the array header
+                    throw error("Power is too large");
+            }
+            if (_pos == start)
+                throw error("Expected a power");
+            return (int) power;
+        }
+
+        /*
+         * Parses an unsigned decimal number. Numbers of up to 15 significant digits and 22 decimal places without an
+         * exponent, like those printed by toString, are computed exactly as integer / 10^places. Other numbers are
+         * left to Double.parseDouble.
+         */
+        private double parseNumber() {
+            int start = _pos;
+            if (matches("Infinity"))
+                return Double.POSITIVE_INFINITY;
+            if (matches("NaN"))
+                return Double.NaN;
+
+            long digits = 0;
+            int places = 0, significant = 0;
+            boolean point = false, any = false;
+            for (; _pos < _end; _pos++) {
+                char c = _text.charAt(_pos);
+                if (isDigit(c)) {
+                    any = true;
+                    if (significant > 0 || c != '0')
+                        significant++;
+                    if (significant <= 18)
+                        digits = digits * 10 + (c - '0');
+                    if (point)
+                        places++;
+                } else if (c == '.' && !point)
+                    point = true;
+                else
+                    break;
+            }
+            if (!any)
+                throw error("Expected a number");
+
+            boolean exponent = false;
+            if (_pos < _end && (_text.charAt(_pos) == 'E' || _text.charAt(_pos) == 'e')) {
+                int after = _pos + 1; //An exponent needs digits, otherwise the letter is the variable
+                if (after < _end && (_text.charAt(after) == '+' || _text.charAt(after) == '-'))
+                    after++;
+                if (after < _end && isDigit(_text.charAt(after))) {
+                    exponent = true;
+                    _pos = after;
+                    while (_pos < _end && isDigit(_text.charAt(_pos)))
+                        _pos++;
+                }
+            }
+
+            if (!exponent && significant <= 15 && digits < EXACT_DIGITS_LIMIT && places < POWERS_OF_TEN.length)
+                return digits / POWERS_OF_TEN[places]; //Both are exact, so the quotient is rounded correctly
+            return Double.parseDouble(_text.subSequence(start, _pos).toString());
+        }
+
+        //Consumes the given word if the text continues with it
+        private boolean matches(String word) {
+            if (_end - _pos < word.length())
+                return false;
+            for (int i = 0; i < word.length(); i++)
+                if (_text.charAt(_pos + i) != word.charAt(i))
+                    return false;
+            _pos += word.length();
+            return true;
+        }
+
+        private boolean isNumberStart(char c) {
+            return isDigit(c) || c == '.' || (c == 'I' && matchesAhead("Infinity")) || (c == 'N' && matchesAhead("NaN"));
+        }
+
+        //Checks if the text continues with the given word without consuming it
+        private boolean matchesAhead(String word) {
+            int save = _pos;
+            boolean match = matches(word);
+            _pos = save;
+            return match;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private void skipSpaces() {
+            while (_pos < _end && Character.isWhitespace(_text.charAt(_pos)))
+                _pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at index " + _pos + " of \"" + _text + "\"");
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/**
+ * This class builds evaluation plans of fixed polynomials. Polynomials up to degree 4 get straight-line Horner code
+ * with the coefficients in fields, sparse polynomials get a Horner scheme that skips the runs of zero coefficients
+ * with powers by squaring, and other polynomials get a Horner loop over a fixed array. The dense plans compute exactly
+ * what {@link Polynomial#calcAt(double)} computes for finite x; the sparse plan rounds the powers of x differently.
+ * <p>
+ * Quartics can also be preconditioned with Knuth's scheme, which needs 3 multiplications instead of 4. The adapted
+ * coefficients may be far larger than the original ones and cancel catastrophically, so the scheme is used only if the
+ * magnitudes of its intermediate terms stay within a constant factor of the terms of Horner's scheme, which bounds its
+ * rounding error by a constant times the error of Horner's scheme; otherwise the quartic gets the Horner plan.
+ * @author Asquator
+ * @version 0.1
+ */
+public class PolynomialCompiler {
+    /**Maximal ratio of nonzero coefficients for the sparse plan*/
+    public static final double SPARSE_MAX_FILL = 0.5;
+    private static final int SPARSE_MIN_DEGREE = 5; //Lower degrees are unrolled
+    private static final double PRECONDITION_MAX_GROWTH = 16; //Maximal growth of the terms by Knuth's preconditioning
+
+    private PolynomialCompiler() {
+    }
+
+    /**
+     * Builds the evaluation plan of a polynomial
+     * @param coef the coefficients of the polynomial, from the free coefficient up, without a tail of zeroes
+     * @param precondition whether to precondition the coefficients of quartics where it keeps the terms bounded
+     * @return the evaluation plan
+     */
+    public static CompiledPolynomial compile(double[] coef, boolean precondition) {
+        switch (coef.length) {
+            case 1:
+                return new Constant(coef[0]);
+            case 2:
+                return new Linear(coef);
+            case 3:
+                return new Quadratic(coef);
+            case 4:
+                return new Cubic(coef);
+            case 5:
+                if (precondition && coef[4] != 0) {
+                    KnuthQuartic preconditioned = new KnuthQuartic(coef);
+                    if (preconditioned.isBounded(coef))
+                        return preconditioned;
+                }
+                return new Quartic(coef);
+            default:
+                int nonzero = 0;
+                for (double c : coef)
+                    if (c != 0)
+                        nonzero++;
+                if (coef.length - 1 >= SPARSE_MIN_DEGREE && nonzero <= SPARSE_MAX_FILL * coef.length)
+                    return new SparseHorner(coef, nonzero);
+                return new Dense(coef);
+        }
+    }
+
+    /*
+     * Computes x^n for n >= 1 by squaring, from the highest bit of n down, in at most 2 log2(n) multiplications
+     */
+    static double power(double x, int n) {
+        double result = x;
+        for (int bit = Integer.highestOneBit(n) >>> 1; bit != 0; bit >>>= 1) {
+            result *= result;
+            if ((n & bit) != 0)
+                result *= x;
+        }
+        return result;
+    }
+
+    /*
+     * The constant polynomial c0
+     */
+    private static final class Constant implements CompiledPolynomial {
+        private final double _c0;
+
+        Constant(double c0) {
+            _c0 = c0;
+        }
+
+        public double calcAt(double x) {
+            return _c0;
+        }
+
+        public int multiplications() {
+            return 0;
+        }
+    }
+
+    /*
+     * The linear polynomial c1 x + c0
+     */
+    private static final class Linear implements CompiledPolynomial {
+        private final double _c0, _c1;
+
+        Linear(double[] coef) {
+            _c0 = coef[0];
+            _c1 = coef[1];
+        }
+
+        public double calcAt(double x) {
+            return _c1 * x + _c0;
+        }
+
+        public int multiplications() {
+            return 1;
+        }
+    }
+
+    /*
+     * The quadratic polynomial (c2 x + c1) x + c0
+     */
+    private static final class Quadratic implements CompiledPolynomial {
+        private final double _c0, _c1, _c2;
+
+        Quadratic(double[] coef) {
+            _c0 = coef[0];
+            _c1 = coef[1];
+            _c2 = coef[2];
+        }
+
+        public double calcAt(double x) {
+            return (_c2 * x + _c1) * x + _c0;
+        }
+
+        public int multiplications() {
+            return 2;
+        }
+    }
+
+    /*
+     * The cubic polynomial ((c3 x + c2) x + c1) x + c0
+     */
+    private static final class Cubic implements CompiledPolynomial {
+        private final double _c0, _c1, _c2, _c3;
+
+        Cubic(double[] coef) {
+            _c0 = coef[0];
+            _c1 = coef[1];
+            _c2 = coef[2];
+            _c3 = coef[3];
+        }
+
+        public double calcAt(double x) {
+            return ((_c3 * x + _c2) * x + _c1) * x + _c0;
+        }
+
+        public int multiplications() {
+            return 3;
+        }
+    }
+
+    /*
+     * The quartic polynomial (((c4 x + c3) x + c2) x + c1) x + c0
+     */
+    private static final class Quartic implements CompiledPolynomial {
+        private final double _c0, _c1, _c2, _c3, _c4;
+
+        Quartic(double[] coef) {
+            _c0 = coef[0];
+            _c1 = coef[1];
+            _c2 = coef[2];
+            _c3 = coef[3];
+            _c4 = coef[4];
+        }
+
+        public double calcAt(double x) {
+            return (((_c4 * x + _c3) * x + _c2) * x + _c1) * x + _c0;
+        }
+
+        public int multiplications() {
+            return 4;
+        }
+    }
+
+    /*
+     * A quartic polynomial preconditioned with Knuth's scheme (The Art of Computer Programming, vol. 2, 4.6.4):
+     * y = (x + a0) x + a1, p(x) = ((y + x + a2) y + a3) a4
+     */
+    private static final class KnuthQuartic implements CompiledPolynomial {
+        private final double _a0, _a1, _a2, _a3, _a4;
+
+        KnuthQuartic(double[] coef) {
+            double u3 = coef[3] / coef[4], u2 = coef[2] / coef[4], u1 = coef[1] / coef[4], u0 = coef[0] / coef[4];
+            _a0 = (u3 - 1) / 2;
+            double beta = u2 - _a0 * (_a0 + 1);
+            _a1 = u1 - _a0 * beta;
+            _a2 = beta - 2 * _a1;
+            _a3 = u0 - _a1 * (_a1 + _a2);
+            _a4 = coef[4];
+        }
+
+        /*
+         * Checks that the terms of the scheme stay bounded. Expanding |a4| ((|y| + t + |a2|) |y| + |a3|) with
+         * |y| <= t^2 + |a0| t + |a1| bounds the magnitudes of the terms at |x| = t by a quartic m(t). The coefficient of
+         * t^i in m must not exceed PRECONDITION_MAX_GROWTH max(|c_i|, |c_0|^((4-i)/4) |c_4|^(i/4)), and since the second
+         * term of the maximum times t^i is at most max(|c_0|, |c_4| t^4), m(t) stays within a constant factor of
+         * sum |c_i| t^i. The rounding errors of the adapted coefficients are covered by the same terms.
+         */
+        boolean isBounded(double[] coef) {
+            double a0 = Math.abs(_a0), a1 = Math.abs(_a1), a2 = Math.abs(_a2), a3 = Math.abs(_a3), a4 = Math.abs(_a4);
+            double[] terms = {a1 * (a1 + a2) + a3, a0 * (a1 + a2) + a1 * (a0 + 1), 2 * a1 + a0 * (a0 + 1) + a2, 2 * a0 + 1};
+            double c0 = Math.abs(coef[0]);
+            for (int i = 0; i < terms.length; i++) {
+                double scale = Math.max(Math.abs(coef[i]), Math.pow(c0, (4 - i) / 4.0) * Math.pow(a4, i / 4.0));
+                if (!(terms[i] * a4 <= PRECONDITION_MAX_GROWTH * scale)) //Also false for overflows
+                    return false;
+            }
+            return true;
+        }
+
+        public double calcAt(double x) {
+            double y = (x + _a0) * x + _a1;
+            return ((y + x + _a2) * y + _a3) * _a4;
+        }
+
+        public int multiplications() {
+            return 3;
+        }
+    }
+
+    /*
+     * A Horner scheme over the nonzero coefficients only, multiplying by the power of x spanning every run of zeroes
+     */
+    private static final class SparseHorner implements CompiledPolynomial {
+        private final double[] _coefficients; //The nonzero coefficients, from the leading one down
+        private final int[] _gaps; //_gaps[i] is the power between the i-th nonzero coefficient and the next term
+        private final int _multiplications;
+
+        SparseHorner(double[] coef, int nonzero) {
+            _coefficients = new double[nonzero];
+            _gaps = new int[nonzero];
+            int count = 0, multiplications = 0;
+            int previous = coef.length - 1;
+            for (int i = coef.length - 1; i >= 0; i--) {
+                if (coef[i] != 0) {
+                    if (count > 0)
+                        _gaps[count - 1] = previous - i;
+                    _coefficients[count++] = coef[i];
+                    previous = i;
+                }
+            }
+            _gaps[count - 1] = previous; //The power of x the lowest nonzero term is multiplied by
+            for (int gap : _gaps)
+                multiplications += gap == 0 ? 0 : 31 - Integer.numberOfLeadingZeros(gap) + Integer.bitCount(gap);
+            _multiplications = multiplications;
+        }
+
+        public double calcAt(double x) {
+            double val = _coefficients[0];
+            for (int i = 0; i < _gaps.length; i++) {
+                int gap = _gaps[i];
+                if (gap == 1)
+                    val *= x;
+                else if (gap > 1)
+                    val *= power(x, gap);
+                if (i + 1 < _coefficients.length)
+                    val += _coefficients[i + 1];
+            }
+            return val;
+        }
+
+        public int multiplications() {
+            return _multiplications;
+        }
+    }
+
+    /*
+     * A Horner loop over a fixed array of coefficients
+     */
+    private static final class Dense implements CompiledPolynomial {
+        private final double[] _coefficients;
+
+        Dense(double[] coef) {
+            _coefficients = coef.clone();
+        }
+
+        public double calcAt(double x) {
+            double[] coef = _coefficients;
+            double val = coef[coef.length - 1];
+            for (int i = coef.length - 2; i >= 0; i--)
+                val = val * x + coef[i];
+            return val;
+        }
+
+        public int multiplications() {
+            return _coefficients.length - 1;
+        }
+    }
+}
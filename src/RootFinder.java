@@ -0,0 +1,36 @@
+/**
+ * This interface represents a backend that finds the real roots of a polynomial in an interval
+ * @author Asquator
+ * @version 0.1
+ */
+public interface RootFinder {
+    /**Isolation with Sturm sequences*/
+    RootFinder STURM = new SturmRootFinder();
+    /**Eigenvalues of the companion matrix*/
+    RootFinder COMPANION = new CompanionRootFinder();
+    /**Laguerre's method with deflation after every root*/
+    RootFinder DEFLATION = new DeflationRootFinder();
+    /**Eigenvalues of the companion matrix, with Sturm sequences if their count is wrong*/
+    RootFinder CHECKED_COMPANION = new CompanionRootFinder(STURM);
+
+    /**
+     * Finds all distinct real roots of a polynomial in the closed interval [min, max]
+     * @param polynomial a polynomial which is not the zero polynomial
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    double[] findRoots(Polynomial polynomial, double min, double max, double error);
+
+    /**
+     * Returns the default backend for polynomials of the given degree, Sturm sequences at every degree. The companion
+     * matrix may lose clustered and multiple roots, and checking its count of roots, see {@link #CHECKED_COMPANION},
+     * costs its eigenvalues on top of a Sturm sequence, so it's left to be chosen per call.
+     * @param degree the degree of the polynomial
+     * @return the default backend for the degree
+     */
+    static RootFinder forDegree(int degree) {
+        return STURM;
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * This class indexes all distinct real roots of a polynomial for finding the roots in many intervals, see
+ * {@link Polynomial#getRootIndex()}. The roots are isolated once inside the root bound of the polynomial with its Sturm
+ * sequence, like in {@link SturmRootFinder}, and kept sorted as disjoint isolating intervals (low, high] in primitive
+ * arrays. A query finds its first root by binary search and bisects the isolating intervals only as far as its
+ * accuracy and endpoints require. The bisected intervals are kept, so later queries start from them, and a query for
+ * k roots at an accuracy reached before costs O(log n + k).
+ * <p>
+ * The queries share the isolating intervals and are synchronized.
+ * @author Asquator
+ * @version 0.1
+ */
+public class RootIndex {
+    private final Polynomial _polynomial;
+    private final SturmSequence _sturm;
+    private final double[] _lows, _highs; //The isolating intervals (low, high], sorted and disjoint
+    private final int[] _lowChanges; //Sign changes of the Sturm sequence at the lows
+    private final boolean[] _signChange; //Whether the polynomial changes its sign at the root, then bisected by signs
+    private final boolean[] _lowNegative; //Whether the polynomial is negative at the lows, if it changes its sign
+
+    /**
+     * Constructs the index of the real roots of a polynomial, isolating all of them
+     * @param polynomial the polynomial to index the roots of
+     * @throws IllegalArgumentException if the polynomial is the zero polynomial
+     */
+    public RootIndex(Polynomial polynomial) {
+        if (polynomial.isZero())
+            throw new IllegalArgumentException("The zero polynomial has infinitely many roots");
+        _polynomial = polynomial;
+        _sturm = new SturmSequence(polynomial);
+        int capacity = polynomial.getDegree();
+        double[] lows = new double[capacity], highs = new double[capacity];
+        int[] lowChanges = new int[capacity];
+        int count = 0;
+
+        if (!polynomial.isConst() && polynomial.getRootBound() == 0) //A monomial, its only root 0 would underflow
+            count++;
+        else if (!polynomial.isConst()) {
+            //All the roots are inside the root bound, enlarged unevenly like in SturmRootFinder
+            double bound = Math.nextUp(polynomial.getRootBound());
+            ArrayDeque<double[]> stack = new ArrayDeque<>();
+            stack.push(new double[]{-bound, bound * SturmRootFinder.BOUND_SKEW,
+                    _sturm.signChangesAtInfinity(false), _sturm.signChangesAtInfinity(true)});
+            while (!stack.isEmpty() && count < capacity) {
+                double[] entry = stack.pop();
+                double a = entry[0], b = entry[1], middle = (a + b) / 2;
+                int roots = (int) (entry[2] - entry[3]);
+                if (roots == 1 || roots > 1 && (middle <= a || middle >= b)) { //Isolated, or a cluster of roots
+                    lows[count] = a;
+                    highs[count] = b;
+                    lowChanges[count++] = (int) entry[2];
+                } else if (roots > 1) { //The left half is pushed last to be processed first, keeping the roots sorted
+                    int middleChanges = _sturm.signChanges(middle);
+                    stack.push(new double[]{middle, b, middleChanges, entry[3]});
+                    stack.push(new double[]{a, middle, entry[2], middleChanges});
+                }
+            }
+        }
+
+        _lows = Arrays.copyOf(lows, count);
+        _highs = Arrays.copyOf(highs, count);
+        _lowChanges = Arrays.copyOf(lowChanges, count);
+        _signChange = new boolean[count];
+        _lowNegative = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            double valLow = polynomial.calcAtCertified(_lows[i]), valHigh = polynomial.calcAtCertified(_highs[i]);
+            if (valHigh == 0) //The root is the high endpoint
+                _lows[i] = _highs[i];
+            else if (valLow * valHigh < 0) {
+                _signChange[i] = true;
+                _lowNegative[i] = valLow < 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct real roots of the polynomial
+     * @return the number of roots
+     */
+    public int size() {
+        return _lows.length;
+    }
+
+    /**
+     * Finds all distinct real roots of the polynomial in the closed interval [min, max]
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    public synchronized double[] getRoots(double min, double max, double error) {
+        if (!new Interval(min, max).isValid())
+            return new double[0];
+        Rounding rounding = _polynomial.getRounding();
+        double[] roots = new double[_lows.length];
+        int rootCounter = 0;
+        for (int i = firstCandidate(min); i < _lows.length && _lows[i] <= max; i++) {
+            if (!locate(i, min, max))
+                continue;
+            while (_highs[i] - _lows[i] >= error)
+                if (!bisect(i))
+                    break;
+            double root = rounding.round(approximation(i), error);
+            if (rootCounter == 0 || root != roots[rootCounter - 1]) //Roots rounded to the same value are merged
+                roots[rootCounter++] = root;
+        }
+        return Arrays.copyOf(roots, rootCounter);
+    }
+
+    //Returns the index of the first isolating interval that may hold a root not below min
+    private int firstCandidate(double min) {
+        int low = 0, high = _highs.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (_highs[middle] < min)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /*
+     * Checks whether the root of the i-th interval is in [min, max], bisecting the interval while it crosses an
+     * endpoint. If the interval can't be bisected any more, its approximation is checked.
+     */
+    private boolean locate(int i, double min, double max) {
+        while (true) {
+            double low = _lows[i], high = _highs[i];
+            if (low == high)
+                return min <= high && high <= max;
+            if (high < min || low >= max) //The root is in (low, high]
+                return false;
+            if (low >= min && high <= max)
+                return true;
+            if (!bisect(i))
+                return min <= approximation(i) && approximation(i) <= max;
+        }
+    }
+
+    //Returns the approximation of the root of the i-th interval
+    private double approximation(int i) {
+        return _lows[i] == _highs[i] ? _highs[i] : (_lows[i] + _highs[i]) / 2;
+    }
+
+    /*
+     * Halves the i-th interval, keeping the half with the root: by the signs of the polynomial if it changes its sign
+     * at the root, otherwise by the sign changes of the Sturm sequence. Returns false if the interval has no
+     * representable points inside.
+     */
+    private boolean bisect(int i) {
+        double low = _lows[i], high = _highs[i], middle = (low + high) / 2;
+        if (middle <= low || middle >= high)
+            return false;
+        if (_signChange[i]) {
+            int sign = _polynomial.signAt(middle);
+            if (sign == 0)
+                _lows[i] = _highs[i] = middle;
+            else if ((sign < 0) == _lowNegative[i])
+                _lows[i] = middle;
+            else
+                _highs[i] = middle;
+        } else {
+            int middleChanges = _sturm.signChanges(middle);
+            if (_lowChanges[i] - middleChanges >= 1) //The root is in (low, middle]
+                _highs[i] = middle;
+            else {
+                _lows[i] = middle;
+                _lowChanges[i] = middleChanges;
+            }
+        }
+        return true;
+    }
+}
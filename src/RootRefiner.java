@@ -0,0 +1,22 @@
+/**
+ * This interface represents a strategy that approximates a root of a polynomial in a bracketing interval
+ * @author Asquator
+ * @version 0.1
+ */
+public interface RootRefiner {
+    /**The default strategy, safeguarded Newton's method*/
+    RootRefiner DEFAULT = new NewtonRefiner();
+
+    /**
+     * Approximates a root in an interval with opposite signs of the polynomial in the endpoints.
+     * The approximation always stays inside the interval.
+     * @param polynomial the polynomial to approximate the root of
+     * @param a the a endpoint
+     * @param b the b endpoint
+     * @param valA the value of the polynomial at a
+     * @param valB the value of the polynomial at b, of the opposite sign to valA
+     * @param error the desired accuracy
+     * @return the root approximation
+     */
+    double refine(Polynomial polynomial, double a, double b, double valA, double valB, double error);
+}
@@ -0,0 +1,160 @@
+import java.util.Arrays;
+
+/**
+ * This class represents the multiset of all complex roots of a polynomial
+ * @author Asquator
+ * @version 0.1
+ */
+public class RootSet {
+    private static final double UNIT_ROUNDOFF = 0x1p-53;
+    //Relative imaginary part of a root that is considered real in any case, the size of the imaginary parts of a double
+    //root split by rounding
+    private static final double SPLIT_TOLERANCE = Math.sqrt(UNIT_ROUNDOFF);
+    private static final double ROOT_PERTURBATION = 4; //Relative change of the coefficients in units of roundoff
+    private final Complex[] _roots;
+    private final double[] _coefficients; //The coefficients of the polynomial, null if it's unknown
+
+    /**
+     * Constructs a root set from an array of roots
+     * @param roots the roots, repeated according to their multiplicities
+     */
+    public RootSet(Complex... roots) {
+        _roots = roots.clone();
+        _coefficients = null;
+    }
+
+    /**
+     * Constructs the root set of a polynomial. The polynomial is used to recognize the real multiple roots, that are
+     * split into complex conjugate roots by rounding.
+     * @param polynomial the polynomial of the roots
+     * @param roots the roots, repeated according to their multiplicities
+     */
+    public RootSet(Polynomial polynomial, Complex... roots) {
+        _roots = roots.clone();
+        _coefficients = polynomial.coefficients();
+    }
+
+    /**
+     * Returns the number of roots, counted with multiplicities
+     * @return the number of roots
+     */
+    public int size() {
+        return _roots.length;
+    }
+
+    /**
+     * Returns the root at the given index
+     * @param index the index of the root
+     * @return the root at the given index
+     */
+    public Complex get(int index) {
+        return _roots[index];
+    }
+
+    /**
+     * Returns all the roots
+     * @return an array of all the roots
+     */
+    public Complex[] getRoots() {
+        return _roots.clone();
+    }
+
+    /**
+     * Counts the roots equal to the given value up to the error
+     * @param root the value to count the roots at
+     * @param error the maximal distance of a counted root from the value
+     * @return the multiplicity of the root, 0 if it's not a root
+     */
+    public int multiplicity(double root, double error) {
+        int count = 0;
+        for (Complex r : _roots)
+            if (Math.abs(r.getRe() - root) <= Math.max(error, 2 * Math.abs(r.getIm())) && isReal(r, error))
+                count++;
+        return count;
+    }
+
+    /**
+     * Returns the distinct real roots in the given interval. A root is considered real if its imaginary part
+     * doesn't exceed the error, and roots closer than the error are considered equal. See
+     * {@link #getRealRoots(Interval, double, Rounding)} for the multiple roots.
+     * @param interval the interval to search in
+     * @param error the desired accuracy
+     * @return a sorted array of the real roots in the interval, rounded according to the desired accuracy
+     */
+    public double[] getRealRoots(Interval interval, double error) {
+        return getRealRoots(interval, error, Rounding.DEFAULT);
+    }
+
+    /**
+     * Returns the distinct real roots in the given interval, rounded with the given rounding. A root is considered
+     * real if its imaginary part doesn't exceed the error, and roots closer than the error are considered equal.
+     * <p>
+     * Rounding splits a root of multiplicity m into m roots around it, at distances of the order of the m-th root of
+     * the machine epsilon, and some of them are complex. A root is therefore also considered real if its imaginary part
+     * doesn't exceed the square root of the machine epsilon relatively to the root, or, if the polynomial is known, if
+     * its real part is a root of the polynomial with the coefficients changed in their last bits. The roots of a split
+     * cluster are considered equal: the roots as far apart as twice their imaginary parts, and the neighbours whose
+     * middle is a root of the polynomial in the same sense.
+     * @param interval the interval to search in
+     * @param error the desired accuracy
+     * @param rounding the rounding of the roots
+     * @return a sorted array of the real roots in the interval
+     */
+    public double[] getRealRoots(Interval interval, double error, Rounding rounding) {
+        double[][] realRoots = new double[_roots.length][]; //Pairs of a real part and the absolute imaginary part
+        int rootCounter = 0;
+        for (Complex root : _roots)
+            if (interval.containsThePoint(root.getRe()) && isReal(root, error))
+                realRoots[rootCounter++] = new double[]{root.getRe(), Math.abs(root.getIm())};
+        Arrays.sort(realRoots, 0, rootCounter, (r1, r2) -> Double.compare(r1[0], r2[0]));
+
+        double[] finalRoots = new double[rootCounter];
+        int distinctCounter = 0;
+        for (int i = 0; i < rootCounter; i++) { //Merging the roots closer than the error or the size of their split
+            int j = i;
+            double spread = realRoots[i][1];
+            while (j + 1 < rootCounter) {
+                double nextSpread = Math.max(spread, realRoots[j + 1][1]);
+                if (!(realRoots[j + 1][0] - realRoots[i][0] < Math.max(error, 2 * nextSpread))
+                        && !isPerturbedRoot((realRoots[j][0] + realRoots[j + 1][0]) / 2))
+                    break;
+                spread = nextSpread;
+                j++;
+            }
+            double sum = 0;
+            for (int k = i; k <= j; k++)
+                sum += realRoots[k][0];
+            finalRoots[distinctCounter++] = rounding.round(sum / (j - i + 1), error);
+            i = j;
+        }
+        return Arrays.copyOf(finalRoots, distinctCounter);
+    }
+
+    //Checks if a root is real up to the error or to the splitting of multiple roots
+    private boolean isReal(Complex root, double error) {
+        double re = root.getRe(), im = Math.abs(root.getIm());
+        return im <= error || im <= SPLIT_TOLERANCE * Math.max(1, Math.abs(re)) || isPerturbedRoot(re);
+    }
+
+    /*
+     * Checks if x is a root of the polynomial with the coefficients changed in their last bits, false if the polynomial
+     * is unknown: the value in x, computed with the compensated Horner scheme, doesn't exceed
+     * ROOT_PERTURBATION u sum |c_i| |x|^i
+     */
+    private boolean isPerturbedRoot(double x) {
+        if (_coefficients == null)
+            return false;
+        double absSum = 0, absX = Math.abs(x);
+        for (int i = _coefficients.length - 1; i >= 0; i--)
+            absSum = absSum * absX + Math.abs(_coefficients[i]);
+        return Math.abs(CertifiedEvaluator.compensated(_coefficients, x)) <= ROOT_PERTURBATION * UNIT_ROUNDOFF * absSum;
+    }
+
+    /**
+     * Returns string representation of the root set
+     * @return string representation of the root set
+     */
+    public String toString() {
+        return Arrays.toString(_roots);
+    }
+}
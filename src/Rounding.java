@@ -0,0 +1,90 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * This enum represents the ways to round the coordinates of the roots and the critical points to the desired accuracy.
+ * The rounding is locale independent and allocates only on the rare slow path of the decimal rounding.
+ * @author Asquator
+ * @version 0.1
+ */
+public enum Rounding {
+    /**Keeps the values as computed*/
+    NONE {
+        @Override
+        public double round(double value, double error) {
+            return value;
+        }
+    },
+
+    /**
+     * Rounds to the fewest decimal places whose unit does not exceed the error, ties to even, like printing the value
+     * with that many places and parsing it back
+     */
+    DECIMAL {
+        @Override
+        public double round(double value, double error) {
+            if (!(error > 0) || !Double.isFinite(value))
+                return value;
+            int places = 0;
+            while (places < NEGATIVE_POWERS_OF_TEN.length && NEGATIVE_POWERS_OF_TEN[places] > error)
+                places++;
+
+            if (places < POWERS_OF_TEN.length) { //The power of ten is exact
+                double scaled = value * POWERS_OF_TEN[places];
+                double fraction = Math.abs(scaled - Math.floor(scaled) - 0.5);
+                //The product is exact up to half of its ulp, so it is rounded correctly unless it is that close to a tie
+                if (Math.abs(scaled) < EXACT_INTEGER_LIMIT && fraction > Math.ulp(scaled))
+                    return Math.rint(scaled) / POWERS_OF_TEN[places];
+            }
+            return slowDecimal(value, places);
+        }
+    },
+
+    /**
+     * Rounds to the nearest multiple of the largest power of two not exceeding the error, ties to even. The grid is
+     * binary, so the rounding is exact and only clears the low bits of the significand.
+     */
+    ULP {
+        @Override
+        public double round(double value, double error) {
+            if (!(error > 0) || !Double.isFinite(value) || Double.isInfinite(error))
+                return value;
+            int exponent = Math.getExponent(error);
+            if (exponent < Double.MIN_EXPONENT) //A subnormal error, every double is on the grid
+                return value;
+            if (Math.getExponent(value) - exponent >= 53) //The value is already a multiple of the grid step
+                return value;
+            return Math.scalb(Math.rint(Math.scalb(value, -exponent)), exponent);
+        }
+    };
+
+    /**The rounding used unless another one is chosen*/
+    public static final Rounding DEFAULT = DECIMAL;
+    private static final double EXACT_INTEGER_LIMIT = 0x1p52; //Above it doubles have no fractional part
+    private static final double[] POWERS_OF_TEN = new double[23]; //Powers of ten exactly representable as doubles
+    private static final double[] NEGATIVE_POWERS_OF_TEN = new double[325]; //Down to the smallest subnormal
+
+    static {
+        for (int i = 0; i < POWERS_OF_TEN.length; i++)
+            POWERS_OF_TEN[i] = Double.parseDouble("1e" + i);
+        for (int i = 0; i < NEGATIVE_POWERS_OF_TEN.length; i++)
+            NEGATIVE_POWERS_OF_TEN[i] = Math.pow(10, -i);
+    }
+
+    /**
+     * Rounds a value to the given accuracy
+     * @param value the value to round
+     * @param error the desired accuracy, values which are not positive leave the value as is
+     * @return the rounded value
+     */
+    public abstract double round(double value, double error);
+
+    /*
+     * Rounds a value to the given number of decimal places with exact decimal arithmetic. Used for large magnitudes,
+     * many places and products too close to a tie to be rounded in binary.
+     */
+    private static double slowDecimal(double value, int places) {
+        double result = new BigDecimal(value).setScale(places, RoundingMode.HALF_EVEN).doubleValue();
+        return result == 0 ? Math.copySign(0.0, value) : result; //Like the formatted "-0"
+    }
+}
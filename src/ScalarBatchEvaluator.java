@@ -0,0 +1,41 @@
+/**
+ * This class evaluates a polynomial in many points with scalar Horner's scheme
+ * @author Asquator
+ * @version 0.1
+ */
+public class ScalarBatchEvaluator implements BatchEvaluator {
+
+    /**
+     * Calculates the values of a polynomial in a range of points, running four independent Horner chains at a time
+     * @param coef the coefficients of the polynomial, from the free coefficient up
+     * @param xs the points to calculate in
+     * @param xsOffset the index of the first point in xs
+     * @param out an array to write the values to
+     * @param outOffset the index in out to write the first value to
+     * @param length the number of points to calculate
+     */
+    public void calcAt(double[] coef, double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        int i = 0;
+        for (; i + 3 < length; i += 4) { //Four independent Horner chains keep the pipeline busy
+            double x0 = xs[xsOffset + i], x1 = xs[xsOffset + i + 1], x2 = xs[xsOffset + i + 2], x3 = xs[xsOffset + i + 3];
+            double v0 = 0, v1 = 0, v2 = 0, v3 = 0;
+            for (int j = coef.length - 1; j >= 0; j--) {
+                double c = coef[j];
+                v0 = v0 * x0 + c;
+                v1 = v1 * x1 + c;
+                v2 = v2 * x2 + c;
+                v3 = v3 * x3 + c;
+            }
+            out[outOffset + i] = v0;
+            out[outOffset + i + 1] = v1;
+            out[outOffset + i + 2] = v2;
+            out[outOffset + i + 3] = v3;
+        }
+        for (; i < length; i++) { //The tail
+            double x = xs[xsOffset + i], val = 0;
+            for (int j = coef.length - 1; j >= 0; j--)
+                val = val * x + coef[j];
+            out[outOffset + i] = val;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+import java.util.Arrays;
+
+/**
+ * This class represents a polynomial by its nonzero terms only, for polynomials of high degree with few terms, such as
+ * x^100000 - 3x^17 + 1. The terms are kept in two parallel primitive arrays sorted by the exponent, so the memory and
+ * the time of every operation depend on the number of terms t rather than on the degree.
+ * <p>
+ * Values are computed with Horner's scheme over the terms, spanning the gaps between the exponents with powers by
+ * squaring in O(t log n). The real roots are found by Descartes' rule of signs and Rolle's theorem: multiplied by a
+ * power of x, the polynomial has the same positive roots, and its derivative has one term less, so the roots of the
+ * derivative found recursively split the positive axis into monotonic pieces with at most one root each. A polynomial
+ * with t terms has at most 2t - 1 real roots whatever its degree, and all the work is polynomial in t.
+ * <p>
+ * Instances are immutable.
+ * @author Asquator
+ * @version 0.1
+ */
+public class SparsePolynomial implements UnivariatePolynomial {
+    /**Minimal degree stored sparsely by the factory methods, lower degrees are cheap to store densely*/
+    public static final int MIN_DEGREE = 64;
+    private static final double UNIT_ROUNDOFF = 0x1p-53;
+    private final int[] _exponents; //Strictly ascending
+    private final double[] _coefficients; //Nonzero, matching the exponents
+    private volatile UnivariatePolynomial _derivative; //The derivative, computed on the first request
+
+    /**
+     * Constructs a polynomial from its terms
+     * @param exponents the exponents of the terms, nonnegative and in any order
+     * @param coef the coefficients of the terms; the coefficients of equal exponents are added up
+     * @throws IllegalArgumentException if an exponent is negative or the arrays differ in length
+     */
+    public SparsePolynomial(int[] exponents, double[] coef) {
+        if (exponents.length != coef.length)
+            throw new IllegalArgumentException("Got " + exponents.length + " exponents and " + coef.length + " coefficients");
+        long[] keys = new long[exponents.length]; //Every exponent with its index, sorted as primitives
+        for (int i = 0; i < exponents.length; i++) {
+            if (exponents[i] < 0)
+                throw new IllegalArgumentException("Negative exponent " + exponents[i]);
+            keys[i] = (long) exponents[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        int[] sortedExponents = new int[keys.length];
+        double[] sortedCoef = new double[keys.length];
+        int count = 0;
+        for (int i = 0; i < keys.length; ) { //Adding up equal exponents and dropping zero sums
+            int exponent = (int) (keys[i] >>> 32);
+            double sum = 0;
+            for (; i < keys.length && (int) (keys[i] >>> 32) == exponent; i++)
+                sum += coef[(int) keys[i]];
+            if (sum != 0) {
+                sortedExponents[count] = exponent;
+                sortedCoef[count++] = sum;
+            }
+        }
+        _exponents = Arrays.copyOf(sortedExponents, count);
+        _coefficients = Arrays.copyOf(sortedCoef, count);
+    }
+
+    /**
+     * Constructs the sparse representation of a polynomial
+     * @param dense the polynomial to copy the nonzero terms of
+     */
+    public SparsePolynomial(Polynomial dense) {
+        double[] coef = dense.coefficients();
+        int count = dense.getTermCount();
+        _exponents = new int[count];
+        _coefficients = new double[count];
+        for (int i = 0, j = 0; i < coef.length; i++) {
+            if (coef[i] != 0) {
+                _exponents[j] = i;
+                _coefficients[j++] = coef[i];
+            }
+        }
+    }
+
+    //Constructs a polynomial from normalized arrays of terms, which are not copied
+    private SparsePolynomial(double[] coef, int[] exponents) {
+        _exponents = exponents;
+        _coefficients = coef;
+    }
+
+    /*
+     * Checks whether a polynomial of the given degree and number of nonzero terms is stored sparsely by the factory
+     * methods, by the same fill ratio as the sparse evaluation plans of PolynomialCompiler
+     */
+    static boolean prefersSparse(int degree, int terms) {
+        return degree >= MIN_DEGREE && terms <= PolynomialCompiler.SPARSE_MAX_FILL * (degree + 1);
+    }
+
+    //Returns the polynomial in the representation preferred for its fill ratio
+    UnivariatePolynomial chooseForm() {
+        return prefersSparse(getDegree(), getTermCount()) ? this : toDense();
+    }
+
+    /**
+     * Converts the polynomial to the dense representation, which takes memory linear in the degree
+     * @return the polynomial with all its coefficients stored
+     */
+    public Polynomial toDense() {
+        double[] coef = new double[Math.max(getDegree(), 0) + 1];
+        for (int i = 0; i < _exponents.length; i++)
+            coef[_exponents[i]] = _coefficients[i];
+        return new Polynomial(coef);
+    }
+
+    /**
+     * Returns the exponents of the nonzero terms
+     * @return a copy of the exponents, in ascending order
+     */
+    public int[] getExponents() {
+        return _exponents.clone();
+    }
+
+    /**
+     * Returns the coefficients of the nonzero terms
+     * @return a copy of the coefficients, matching the exponents
+     */
+    public double[] getCoef() {
+        return _coefficients.clone();
+    }
+
+    /**
+     * Returns the degree of the polynomial
+     * @return the degree of the polynomial, -1 for the zero polynomial
+     */
+    public int getDegree() {
+        return _exponents.length == 0 ? -1 : _exponents[_exponents.length - 1];
+    }
+
+    /**
+     * Returns the number of nonzero coefficients
+     * @return the number of nonzero terms
+     */
+    public int getTermCount() {
+        return _exponents.length;
+    }
+
+    /**
+     * Checks if the polynomial equals to the zero polynomial
+     * @return true if the polynomial equals to the zero polynomial
+     */
+    public boolean isZero() {
+        return _exponents.length == 0;
+    }
+
+    /**
+     * Calculates the value of the polynomial in x using Horner's scheme over the nonzero terms, with the powers of x
+     * spanning the gaps between the exponents computed by squaring
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    public double calcAt(double x) {
+        int t = _exponents.length;
+        if (t == 0)
+            return 0;
+        double val = _coefficients[t - 1];
+        for (int i = t - 2; i >= 0; i--)
+            val = val * PolynomialCompiler.power(x, _exponents[i + 1] - _exponents[i]) + _coefficients[i];
+        return _exponents[0] == 0 ? val : val * PolynomialCompiler.power(x, _exponents[0]);
+    }
+
+    /**
+     * Returns the derivative of the polynomial, in the representation preferred for its fill ratio. The derivative is
+     * computed once and reused.
+     * @return the derivative
+     */
+    public UnivariatePolynomial getDerivative() {
+        UnivariatePolynomial derivative = _derivative;
+        if (derivative == null) { //A race computes equal derivatives, any of them can be kept
+            int skip = _exponents.length > 0 && _exponents[0] == 0 ? 1 : 0; //The free coefficient vanishes
+            int[] exponents = new int[_exponents.length - skip];
+            double[] coef = new double[exponents.length];
+            for (int i = 0; i < exponents.length; i++) {
+                exponents[i] = _exponents[i + skip] - 1;
+                coef[i] = _exponents[i + skip] * _coefficients[i + skip];
+            }
+            _derivative = derivative = new SparsePolynomial(coef, exponents).chooseForm();
+        }
+        return derivative;
+    }
+
+    /**
+     * Adds another polynomial to the polynomial by merging their terms
+     * @param other the polynomial to add, a {@link Polynomial} or a {@link SparsePolynomial}
+     * @return the sum, in the representation preferred for its fill ratio
+     * @throws IllegalArgumentException if the other polynomial is of another implementation
+     */
+    public UnivariatePolynomial add(UnivariatePolynomial other) {
+        SparsePolynomial sparse;
+        if (other instanceof SparsePolynomial)
+            sparse = (SparsePolynomial) other;
+        else if (other instanceof Polynomial)
+            sparse = new SparsePolynomial((Polynomial) other);
+        else
+            throw new IllegalArgumentException("Can't add a polynomial of " + other.getClass().getName());
+        int[] exponents = new int[_exponents.length + sparse._exponents.length];
+        double[] coef = new double[exponents.length];
+        int i = 0, j = 0, count = 0;
+        while (i < _exponents.length || j < sparse._exponents.length) {
+            int exponent;
+            double sum;
+            if (j == sparse._exponents.length || i < _exponents.length && _exponents[i] < sparse._exponents[j]) {
+                exponent = _exponents[i];
+                sum = _coefficients[i++];
+            } else if (i == _exponents.length || sparse._exponents[j] < _exponents[i]) {
+                exponent = sparse._exponents[j];
+                sum = sparse._coefficients[j++];
+            } else {
+                exponent = _exponents[i];
+                sum = _coefficients[i++] + sparse._coefficients[j++];
+            }
+            if (sum != 0) { //Cancelled terms are dropped
+                exponents[count] = exponent;
+                coef[count++] = sum;
+            }
+        }
+        return new SparsePolynomial(Arrays.copyOf(coef, count), Arrays.copyOf(exponents, count)).chooseForm();
+    }
+
+    /**
+     * Returns Fujiwara's bound on the roots over the nonzero terms, computed like {@link Polynomial#getRootBound()}
+     * @return the bound on the magnitudes of the roots, 0 for a nonzero constant or a monomial and infinity for the
+     * zero polynomial
+     */
+    public double getRootBound() {
+        if (isZero())
+            return Double.POSITIVE_INFINITY;
+        int t = _exponents.length, n = _exponents[t - 1], maxExponent = Integer.MIN_VALUE;
+        double leading = Math.abs(_coefficients[t - 1]);
+        for (int i = 0; i < t - 1; i++) {
+            int k = n - _exponents[i];
+            //The ratio is below 2^(e+1), the free one is halved, so its k-th root is below 2^ceil((e+1)/k)
+            int exponent = Math.getExponent(Math.abs(_coefficients[i]) / leading) + (_exponents[i] == 0 ? 0 : 1);
+            maxExponent = Math.max(maxExponent, -Math.floorDiv(-exponent, k));
+        }
+        return maxExponent == Integer.MIN_VALUE ? 0 : Math.scalb(2.0, maxExponent);
+    }
+
+    /**
+     * Returns Descartes' bound on the number of distinct real roots: the sign changes of the coefficients bound the
+     * positive roots, the sign changes of the coefficients of p(-x) bound the negative ones, and 0 is a root if the
+     * free coefficient is zero. The bound doesn't exceed 2t - 1 for t terms, whatever the degree.
+     * @return the bound on the number of distinct real roots
+     */
+    public int getRealRootCountBound() {
+        return signChanges(_exponents, _coefficients, false) + signChanges(_exponents, _coefficients, true)
+                + (_exponents.length > 0 && _exponents[0] > 0 ? 1 : 0);
+    }
+
+    //Counts the sign changes of the coefficients of p(x), or of p(-x) if negated
+    private static int signChanges(int[] exponents, double[] coef, boolean negated) {
+        int changes = 0;
+        for (int i = 1; i < coef.length; i++) {
+            boolean flip = negated && ((exponents[i] - exponents[i - 1]) & 1) != 0;
+            if ((coef[i] < 0) != (coef[i - 1] < 0) != flip)
+                changes++;
+        }
+        return changes;
+    }
+
+    /**
+     * Finds all distinct real roots of the polynomial in the closed interval [min, max]. Roots where the polynomial
+     * doesn't change its sign are found at the extrema where its value is within the rounding errors of zero.
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy. If the polynomial is a constant
+     * zero, returns an array with maximal double value.
+     */
+    public double[] getRoots(double min, double max, double error) {
+        if (isZero())
+            return new double[]{Double.MAX_VALUE};
+        if (!(min <= max))
+            return new double[0];
+        double[] roots = new double[2 * _exponents.length + 1]; //At most t - 1 roots on every side, sized by the terms
+        int count = 0;
+        double bound = Math.nextUp(getRootBound());
+
+        if (min < 0 && signChanges(_exponents, _coefficients, true) > 0) { //The positive roots of p(-x)
+            double[] reflected = _coefficients.clone();
+            for (int i = 0; i < reflected.length; i++)
+                if ((_exponents[i] & 1) != 0)
+                    reflected[i] = -reflected[i];
+            count = rootsInRange(_exponents, reflected, Math.max(-max, 0), Math.min(-min, bound), error, roots, count);
+            for (int i = 0; i < count; i++)
+                roots[i] = -roots[i];
+        }
+        if (_exponents[0] > 0 && min <= 0 && max >= 0)
+            roots[count++] = 0;
+        if (max > 0 && signChanges(_exponents, _coefficients, false) > 0)
+            count = rootsInRange(_exponents, _coefficients, Math.max(min, 0), Math.min(max, bound), error, roots, count);
+        Arrays.sort(roots, 0, count);
+
+        Rounding rounding = Rounding.DEFAULT;
+        int distinct = 0;
+        for (int i = 0; i < count; i++) { //Roots rounded to the same value are merged
+            double root = rounding.round(roots[i], error);
+            if (distinct == 0 || root != roots[distinct - 1])
+                roots[distinct++] = root;
+        }
+        return Arrays.copyOf(roots, distinct);
+    }
+
+    /*
+     * Finds the positive roots of a polynomial given by its terms in [lo, hi], 0 <= lo, including lo only if it's
+     * positive. Returns the new number of roots.
+     */
+    private static int rootsInRange(int[] exponents, double[] coef, double lo, double hi, double error,
+                                    double[] roots, int count) {
+        if (!(lo <= hi))
+            return count;
+        if (lo > 0 && scaledAt(exponents, coef, lo) == 0)
+            roots[count++] = lo;
+        return lo < hi ? positiveRoots(exponents, coef, lo, hi, error, roots, count) : count;
+    }
+
+    /*
+     * Finds the positive roots of a polynomial given by its terms in (lo, hi], 0 <= lo < hi, approximated with the
+     * given error, 0 for the full precision. The roots of the derivative of x^(-e0) p(x) split the interval into pieces
+     * on which it's monotonic, and every piece with a sign change has exactly one root. A root where the sign doesn't
+     * change is an extremum, found if the value there is within the rounding errors. Returns the new number of roots.
+     */
+    private static int positiveRoots(int[] exponents, double[] coef, double lo, double hi, double error,
+                                     double[] roots, int count) {
+        int t = coef.length;
+        if (t < 2 || signChanges(exponents, coef, false) == 0) //Descartes' rule of signs
+            return count;
+
+        int[] derivativeExponents = new int[t - 1];
+        double[] derivativeCoef = new double[t - 1];
+        for (int i = 1; i < t; i++) { //(x^(-e0) p(x))' = sum of (e_i - e0) c_i x^(e_i - e0 - 1)
+            derivativeExponents[i - 1] = exponents[i] - exponents[0] - 1;
+            derivativeCoef[i - 1] = (double) (exponents[i] - exponents[0]) * coef[i];
+        }
+        double[] critical = new double[t]; //The derivative has t - 1 terms, so at most t - 2 positive roots
+        int criticalCount = positiveRoots(derivativeExponents, derivativeCoef, lo, hi, 0, critical, 0);
+
+        double left = lo, valLeft = scaledAt(exponents, coef, lo);
+        for (int i = 0; i <= criticalCount; i++) {
+            double right = i < criticalCount ? critical[i] : hi, valRight = scaledAt(exponents, coef, right);
+            if (i < criticalCount && valRight != 0 && isNegligible(exponents, coef, right, valRight))
+                valRight = 0; //A tangent root, the sign may not change
+            if (valRight == 0)
+                roots[count++] = right;
+            else if (valLeft != 0 && (valLeft < 0) != (valRight < 0))
+                roots[count++] = bisect(exponents, coef, left, right, valLeft < 0, error);
+            left = right;
+            valLeft = valRight;
+        }
+        return count;
+    }
+
+    //Approximates the root of a monotonic piece with opposite signs at the endpoints by bisection
+    private static double bisect(int[] exponents, double[] coef, double a, double b, boolean negativeAtA, double error) {
+        double middle = (a + b) / 2;
+        while (b - a >= error && middle > a && middle < b) {
+            double val = scaledAt(exponents, coef, middle);
+            if (val == 0)
+                return middle;
+            if ((val < 0) == negativeAtA)
+                a = middle;
+            else
+                b = middle;
+            middle = (a + b) / 2;
+        }
+        return middle;
+    }
+
+    /*
+     * Calculates a positive multiple of a polynomial given by its terms in x >= 0 that doesn't overflow:
+     * x^(-e0) p(x) for x <= 1, by Horner's scheme from the highest term, and x^(-n) p(x) for x > 1, by Horner's scheme
+     * in 1/x from the lowest term, dividing by the powers of x, which only underflow
+     */
+    private static double scaledAt(int[] exponents, double[] coef, double x) {
+        int t = coef.length;
+        double val;
+        if (x <= 1) {
+            val = coef[t - 1];
+            for (int i = t - 2; i >= 0; i--)
+                val = val * PolynomialCompiler.power(x, exponents[i + 1] - exponents[i]) + coef[i];
+        } else {
+            val = coef[0];
+            for (int i = 1; i < t; i++)
+                val = val / PolynomialCompiler.power(x, exponents[i] - exponents[i - 1]) + coef[i];
+        }
+        return val;
+    }
+
+    /*
+     * Checks whether the value of scaledAt at x >= 0 is within its rounding errors, bounded by the same scheme on the
+     * absolute values of the coefficients, times the number of rounded operations including those of the powers
+     */
+    private static boolean isNegligible(int[] exponents, double[] coef, double x, double val) {
+        int t = coef.length, operations = 0;
+        double abs;
+        if (x <= 1) {
+            abs = Math.abs(coef[t - 1]);
+            for (int i = t - 2; i >= 0; i--) {
+                int gap = exponents[i + 1] - exponents[i];
+                abs = abs * PolynomialCompiler.power(x, gap) + Math.abs(coef[i]);
+                operations += 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(gap)) + 2;
+            }
+        } else {
+            abs = Math.abs(coef[0]);
+            for (int i = 1; i < t; i++) {
+                int gap = exponents[i] - exponents[i - 1];
+                abs = abs / PolynomialCompiler.power(x, gap) + Math.abs(coef[i]);
+                operations += 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(gap)) + 2;
+            }
+        }
+        return Math.abs(val) <= operations * UNIT_ROUNDOFF * abs;
+    }
+
+    /**
+     * Returns string representation of the polynomial, in the notation of {@link PolynomialCodec}
+     * @return string representation of the polynomial
+     */
+    public String toString() {
+        return PolynomialCodec.toText(this);
+    }
+}
@@ -0,0 +1,141 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * This class finds the real roots of a polynomial in an interval. The roots are isolated with the Sturm sequence of the
+ * polynomial, iteratively and without recursion, so every isolating interval contains exactly one distinct root that
+ * is then refined once by a {@link RootRefiner}.
+ * <p>
+ * The bisection is first narrowed to the root bound of the polynomial, see {@link Polynomial#getRootBound()}, so wide
+ * intervals don't cost bisection steps outside the roots. An interval whose enclosure excludes zero, see
+ * {@link Polynomial#rangeOver(Interval)}, is answered without building the sequence.
+ * @author Asquator
+ * @version 0.1
+ */
+public class SturmRootFinder implements RootFinder {
+    static final double BOUND_SKEW = 1.125; //Enlargement of the root bound on the positive side
+    private final RootRefiner _refiner; //Approximates the isolated roots of odd multiplicity
+
+    /**
+     * Constructs a root finder that approximates isolated roots with the default strategy
+     */
+    public SturmRootFinder() {
+        this(RootRefiner.DEFAULT);
+    }
+
+    /**
+     * Constructs a root finder that approximates isolated roots with the given strategy
+     * @param refiner the strategy to approximate roots of odd multiplicity with
+     */
+    public SturmRootFinder(RootRefiner refiner) {
+        _refiner = refiner;
+    }
+
+    /**
+     * Finds all distinct real roots of a polynomial in the closed interval [min, max]
+     * @param polynomial a polynomial which is not the zero polynomial
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy
+     */
+    public double[] findRoots(Polynomial polynomial, double min, double max, double error) {
+        if (polynomial.isConst() || !new Interval(min, max).isValid())
+            return new double[0];
+        if (polynomial.getRootBound() == 0) //A monomial, its only root 0 would underflow on the narrowed interval
+            return min <= 0 && max >= 0 ? new double[]{0.0} : new double[0];
+        //The roots are inside the root bound, so none of them is on the enlarged bound. The bound is enlarged unevenly,
+        //so the middle of the narrowed interval isn't 0, a frequent root where the sequence may vanish altogether.
+        double bound = Math.nextUp(polynomial.getRootBound()), a = Math.max(min, -bound), b = Math.min(max, bound * BOUND_SKEW);
+        if (!(a < b) || polynomial.excludesRoots(a, b, new double[2])) //Skips the construction of the Sturm sequence
+            return new double[0];
+
+        SturmSequence sturm = new SturmSequence(polynomial);
+        double[] roots = new double[polynomial.getDegree()];
+        int rootCounter = 0;
+
+        if (polynomial.signAt(a) == 0) //Sturm's theorem counts the roots in (a, b] only
+            roots[rootCounter++] = a;
+        rootCounter = isolate(polynomial, sturm, a, b, signChanges(sturm, a, a > min, false),
+                signChanges(sturm, b, b < max, true), error, roots, rootCounter);
+        return roundRoots(roots, rootCounter, error, polynomial.getRounding());
+    }
+
+    /*
+     * Returns the sign changes of the sequence at an endpoint of the narrowed interval. Beyond the root bound the count
+     * is the count at infinity, which is exact, so it's taken there if the endpoint was narrowed to the bound.
+     */
+    static int signChanges(SturmSequence sturm, double x, boolean narrowed, boolean positive) {
+        return narrowed ? sturm.signChangesAtInfinity(positive) : sturm.signChanges(x);
+    }
+
+    /*
+     * Isolates and approximates the roots in the half-open interval (min, max], given the sign changes of the Sturm
+     * sequence at the endpoints. The roots are written to the array in ascending order starting from the given index.
+     * Returns the index after the last root written.
+     */
+    int isolate(Polynomial polynomial, SturmSequence sturm, double min, double max, int minChanges, int maxChanges,
+                double error, double[] roots, int rootCounter) {
+        //Every entry holds an interval (a, b] with the sign changes of the sequence at a and b
+        ArrayDeque<double[]> stack = new ArrayDeque<>();
+        stack.push(new double[]{min, max, minChanges, maxChanges});
+        while (!stack.isEmpty() && rootCounter < roots.length) {
+            double[] entry = stack.pop();
+            double a = entry[0], b = entry[1];
+            int count = (int) (entry[2] - entry[3]);
+
+            if (count == 1) //The root is isolated
+                roots[rootCounter++] = refineIsolated(polynomial, sturm, a, b, (int) entry[2], error);
+            else if (count > 1) {
+                double middle = (a + b) / 2;
+                if (b - a < error || middle <= a || middle >= b) //A cluster of roots closer than the accuracy
+                    roots[rootCounter++] = middle;
+                else { //The left half is pushed last to be processed first, keeping the roots ascending
+                    int middleChanges = sturm.signChanges(middle);
+                    stack.push(new double[]{middle, b, middleChanges, entry[3]});
+                    stack.push(new double[]{a, middle, entry[2], middleChanges});
+                }
+            }
+        }
+        return rootCounter;
+    }
+
+    /*
+     * Returns a sorted array of the first count roots, rounded with the given rounding to the desired accuracy
+     */
+    static double[] roundRoots(double[] roots, int count, double error, Rounding rounding) {
+        double[] finalRoots = new double[count];
+        for (int i = 0; i < count; i++)
+            finalRoots[i] = rounding.round(roots[i], error);
+        Arrays.sort(finalRoots);
+        return finalRoots;
+    }
+
+    /*
+     * Input: an interval (a, b] with exactly one distinct root and the sign changes of the Sturm sequence at a
+     * Returns the root approximation with the given error. Roots of odd multiplicity are approximated by sign changes
+     * of the polynomial, roots of even multiplicity by the root counts of the Sturm sequence.
+     */
+    private double refineIsolated(Polynomial polynomial, SturmSequence sturm, double a, double b, int aChanges, double error) {
+        double valB = polynomial.calcAtCertified(b); //A rounded value of the wrong sign would lose the root
+        if (valB == 0)
+            return b;
+        double valA = polynomial.calcAtCertified(a);
+        if (valA * valB < 0)
+            return _refiner.refine(polynomial, a, b, valA, valB, error);
+
+        while (b - a >= error) {
+            double middle = (a + b) / 2;
+            if (middle <= a || middle >= b) //No more representable points in between
+                break;
+            int middleChanges = sturm.signChanges(middle);
+            if (aChanges - middleChanges >= 1) //The root is in (a, middle]
+                b = middle;
+            else {
+                a = middle;
+                aChanges = middleChanges;
+            }
+        }
+        return (a + b) / 2;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * This class represents the Sturm sequence of a polynomial, used to count its distinct real roots in an interval
+ * @author Asquator
+ * @version 0.1
+ */
+public class SturmSequence {
+    //Size of a remainder coefficient treated as zero, relative to the terms cancelled out in it
+    private static final double REMAINDER_TOLERANCE = 1e-11;
+    private final double[][] _chain; //Coefficients of the polynomials in the sequence, each scaled to maximum norm in [1, 2)
+
+    /**
+     * Constructs the Sturm sequence p, p', -rem(p, p'), ... of a non-constant polynomial
+     * @param polynomial the polynomial to construct the sequence of
+     */
+    public SturmSequence(Polynomial polynomial) {
+        double[][] chain = new double[polynomial.getDegree() + 1][];
+        int length = 0;
+        chain[length++] = Polynomial.normalize(polynomial.coefficients());
+        if (!polynomial.isConst()) {
+            chain[length++] = Polynomial.normalize(polynomial.getDerivative().coefficients());
+            while (chain[length - 1].length > 1) { //The last element is not a constant
+                double[] remainder = negRemainder(chain[length - 2], chain[length - 1]);
+                if (remainder == null) //The remainder is zero, the polynomial has multiple roots
+                    break;
+                chain[length++] = Polynomial.normalize(remainder);
+            }
+        }
+        _chain = new double[length][];
+        for (int i = 0; i < length; i++)
+            _chain[i] = chain[i];
+    }
+
+    /*
+     * Returns the negated remainder of the division of dividend by divisor, without leading coefficients that vanished
+     * due to rounding. Returns null if the remainder is zero.
+     */
+    private static double[] negRemainder(double[] dividend, double[] divisor) {
+        double[] rem = Polynomial.remainder(dividend, divisor, REMAINDER_TOLERANCE);
+        if (rem.length == 1 && rem[0] == 0)
+            return null;
+        for (int i = 0; i < rem.length; i++)
+            rem[i] = -rem[i];
+        return rem;
+    }
+
+    /**
+     * Returns the number of sign changes in the sequence at the point x, zeroes are skipped. The polynomial itself is
+     * evaluated with a certified sign, so it's skipped only at its roots.
+     * @param x the point to evaluate the sequence at
+     * @return the number of sign changes
+     */
+    public int signChanges(double x) {
+        int changes = 0;
+        double prev = CertifiedEvaluator.calcAt(_chain[0], x);
+        for (int j = 1; j < _chain.length; j++) {
+            double[] coef = _chain[j];
+            double val = 0;
+            for (int i = coef.length - 1; i >= 0; i--)
+                val = val * x + coef[i];
+            if (val != 0) {
+                if (prev != 0 && (val < 0) != (prev < 0))
+                    changes++;
+                prev = val;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the number of sign changes in the sequence at positive or negative infinity, where the sign of every
+     * polynomial is the sign of its leading term
+     * @param positive true for the positive infinity, false for the negative one
+     * @return the number of sign changes
+     */
+    public int signChangesAtInfinity(boolean positive) {
+        int changes = 0;
+        boolean prevNegative = false;
+        for (int i = 0; i < _chain.length; i++) {
+            double[] coef = _chain[i];
+            boolean negative = (coef[coef.length - 1] < 0) != (!positive && (coef.length - 1) % 2 == 1);
+            if (i > 0 && negative != prevNegative)
+                changes++;
+            prevNegative = negative;
+        }
+        return changes;
+    }
+
+    /**
+     * Counts the distinct real roots of the polynomial in the half-open interval (a, b]
+     * @param interval the interval to count in
+     * @return the number of distinct roots in (a, b]
+     */
+    public int countRoots(Interval interval) {
+        if (!interval.isValid())
+            return 0;
+        return signChanges(interval.getA()) - signChanges(interval.getB());
+    }
+
+    /**
+     * Returns the length of the sequence
+     * @return the number of polynomials in the sequence
+     */
+    public int length() {
+        return _chain.length;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * This interface represents a polynomial with real coefficients in one variable, whatever way its coefficients are
+ * stored in. {@link Polynomial} stores all coefficients, {@link SparsePolynomial} only the nonzero terms, and the
+ * factory methods choose between them by the ratio of nonzero coefficients. These are the only implementations: the
+ * operations combining two polynomials, such as {@link #add(UnivariatePolynomial)}, reject any other.
+ * @author Asquator
+ * @version 0.1
+ */
+public interface UnivariatePolynomial {
+
+    /**
+     * Constructs a polynomial from a list of coefficients, stored sparsely if few of them are nonzero
+     * @param coef the coefficients, from the free coefficient up
+     * @return the polynomial
+     */
+    static UnivariatePolynomial of(double... coef) {
+        Polynomial dense = new Polynomial(coef);
+        return SparsePolynomial.prefersSparse(dense.getDegree(), dense.getTermCount()) ? new SparsePolynomial(dense) : dense;
+    }
+
+    /**
+     * Constructs a polynomial from its terms, stored densely if most of the coefficients are nonzero
+     * @param exponents the exponents of the terms, nonnegative and in any order
+     * @param coef the coefficients of the terms; the coefficients of equal exponents are added up
+     * @return the polynomial
+     * @throws IllegalArgumentException if an exponent is negative or the arrays differ in length
+     */
+    static UnivariatePolynomial of(int[] exponents, double[] coef) {
+        return new SparsePolynomial(exponents, coef).chooseForm();
+    }
+
+    /**
+     * Returns the degree of the polynomial
+     * @return the degree of the polynomial, -1 for the zero polynomial
+     */
+    int getDegree();
+
+    /**
+     * Returns the number of nonzero coefficients
+     * @return the number of nonzero terms
+     */
+    int getTermCount();
+
+    /**
+     * Checks if the polynomial equals to the zero polynomial
+     * @return true if the polynomial equals to the zero polynomial
+     */
+    boolean isZero();
+
+    /**
+     * Calculates the value of the polynomial in x
+     * @param x the value to calculate in
+     * @return the value of the polynomial in x
+     */
+    double calcAt(double x);
+
+    /**
+     * Returns the derivative of the polynomial
+     * @return the derivative
+     */
+    UnivariatePolynomial getDerivative();
+
+    /**
+     * Adds another polynomial to the polynomial
+     * @param other the polynomial to add, a {@link Polynomial} or a {@link SparsePolynomial}
+     * @return the sum
+     * @throws IllegalArgumentException if the other polynomial is of another implementation
+     */
+    UnivariatePolynomial add(UnivariatePolynomial other);
+
+    /**
+     * Returns a bound on the magnitudes of the roots
+     * @return the bound, 0 for a nonzero constant and infinity for the zero polynomial
+     */
+    double getRootBound();
+
+    /**
+     * Finds all distinct real roots of the polynomial in the closed interval [min, max].
+     * <p>
+     * The representations find the roots differently. {@link Polynomial} counts the roots with Sturm sequences, while
+     * {@link SparsePolynomial} looks for sign changes between the extrema and takes an extremum as a tangent root when
+     * the value there is within the rounding errors. Near roots of high multiplicity, such as a high power of x dividing
+     * the polynomial, both are limited by the rounding errors and may disagree.
+     * @param min the a endpoint
+     * @param max the b endpoint
+     * @param error the desired accuracy
+     * @return a sorted array of the roots, rounded according to the desired accuracy. If the polynomial is a constant
+     * zero, returns an array with maximal double value.
+     */
+    double[] getRoots(double min, double max, double error);
+}
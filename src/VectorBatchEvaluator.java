@@ -0,0 +1,63 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class evaluates a polynomial in many points with Horner's scheme running over SIMD lanes of points.
+ * Requires the jdk.incubator.vector module (--add-modules jdk.incubator.vector).
+ * @author Asquator
+ * @version 0.1
+ */
+public class VectorBatchEvaluator implements BatchEvaluator {
+    private final VectorSpecies<Double> _species;
+
+    /**
+     * Constructs an evaluator with the preferred species of the running hardware
+     * @throws UnsupportedOperationException if the hardware has no more than one double lane
+     */
+    public VectorBatchEvaluator() {
+        this(DoubleVector.SPECIES_PREFERRED);
+    }
+
+    /**
+     * Constructs an evaluator with the given species
+     * @param species the species to use
+     * @throws UnsupportedOperationException if the species has no more than one lane
+     */
+    public VectorBatchEvaluator(VectorSpecies<Double> species) {
+        if (species.length() < 2)
+            throw new UnsupportedOperationException("No SIMD lanes available for doubles");
+        _species = species;
+    }
+
+    /**
+     * Calculates the values of a polynomial in a range of points, one vector of points at a time.
+     * Multiplications and additions are not fused, so the results match the scalar Horner's scheme exactly.
+     * @param coef the coefficients of the polynomial, from the free coefficient up
+     * @param xs the points to calculate in
+     * @param xsOffset the index of the first point in xs
+     * @param out an array to write the values to
+     * @param outOffset the index in out to write the first value to
+     * @param length the number of points to calculate
+     */
+    public void calcAt(double[] coef, double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        int i = 0;
+        int bound = _species.loopBound(length);
+        for (; i < bound; i += _species.length()) {
+            DoubleVector x = DoubleVector.fromArray(_species, xs, xsOffset + i);
+            DoubleVector val = DoubleVector.zero(_species);
+            for (int j = coef.length - 1; j >= 0; j--)
+                val = val.mul(x).add(coef[j]);
+            val.intoArray(out, outOffset + i);
+        }
+
+        if (i < length) { //The tail, using a partial mask
+            VectorMask<Double> mask = _species.indexInRange(i, length);
+            DoubleVector x = DoubleVector.fromArray(_species, xs, xsOffset + i, mask);
+            DoubleVector val = DoubleVector.zero(_species);
+            for (int j = coef.length - 1; j >= 0; j--)
+                val = val.mul(x).add(coef[j]);
+            val.intoArray(out, outOffset + i, mask);
+        }
+    }
+}
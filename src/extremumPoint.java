@@ -37,7 +37,7 @@ public class extremumPoint extends Point
     protected static boolean isExtremum(double x, Interval interval, Polynomial derivative){
         double midFirst = (interval.getA() + x) / 2;
         double midSecond = (x + interval.getB()) / 2;
-        if(derivative.calcAt(midFirst) * derivative.calcAt(midSecond) < 0) //The derivative changes signs
+        if(derivative.signAt(midFirst) * derivative.signAt(midSecond) < 0) //The derivative changes signs
             return true;
         return false;
     }
@@ -49,7 +49,7 @@ public class extremumPoint extends Point
     protected static boolean checkIfMin(double x, Interval interval, Polynomial derivative){
         double midFirst = (interval.getA() + x) / 2;
         double midSecond = (x + interval.getB()) / 2;
-        if(derivative.calcAt(midFirst) < 0 && derivative.calcAt(midSecond) > 0)
+        if(derivative.signAt(midFirst) < 0 && derivative.signAt(midSecond) > 0)
             return true;
         return false;
     }
@@ -27,6 +27,14 @@ public class inflectionPoint extends Point{
         _downToUp = downToUp;
     }
 
+    /**
+     * Checks the concavity change type
+     * @return true if the concavity changes from down to up
+     */
+    public boolean isDownToUp(){
+        return _downToUp;
+    }
+
     protected static boolean isInflection(double x, Interval interval, Polynomial secondDerivative){
         return extremumPoint.isExtremum(x, interval, secondDerivative);
     }